@@ -0,0 +1,40 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author xiaoyi
+ * 2022/5/7 20:35
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    @Param({"few", "many"})
+    String shape;
+
+    String[] arguments;
+
+    public record Options(@Option("l") boolean logging, @Option("p") int port, @Option("g") String[] group) {
+    }
+
+    @Setup
+    public void setUp() {
+        arguments = ArgumentVectors.of(shape, size);
+    }
+
+    @Benchmark
+    public Options parse() {
+        return Args.parse(Options.class, arguments);
+    }
+}
@@ -0,0 +1,38 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a short command parsed repeatedly by {@link Args#parse(Class, String...)} and by a reused {@link ArgsParser}
+ *
+ * @author xiaoyi
+ * 2022/5/18 23:05
+ * @since
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgsParserBenchmark {
+
+    public record Options(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    }
+
+    String[] arguments = {"-l", "-p", "80", "-d", "/usr/logs"};
+
+    ArgsParser<Options> parser = Args.parser(Options.class);
+
+    @Benchmark
+    public Options parse() {
+        return Args.parse(Options.class, arguments);
+    }
+
+    @Benchmark
+    public Options reused() {
+        return parser.parse(arguments).getOptions();
+    }
+}
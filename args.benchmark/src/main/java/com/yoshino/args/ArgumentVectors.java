@@ -0,0 +1,61 @@
+package com.yoshino.args;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * argument vectors shared by the benchmarks.
+ * <ul>
+ *     <li>few: {@code -l -p 8080 -g v0 v1 ...}, one list option carrying almost every argument</li>
+ *     <li>many: {@code -l -p 8080 -g v0 -a 0 -b 1 ...}, a flag for every other argument</li>
+ * </ul>
+ *
+ * @author xiaoyi
+ * 2022/5/7 20:12
+ * @since
+ **/
+class ArgumentVectors {
+
+    static String[] of(String shape, int size) {
+        List<String> arguments = new ArrayList<>(List.of("-l", "-p", "8080", "-g", "v0"));
+        switch (shape) {
+            case "few" -> {
+                for (int i = 1; arguments.size() < size; i++) {
+                    arguments.add("v" + i);
+                }
+            }
+            case "many" -> {
+                for (int i = 0; arguments.size() + 1 < size; i++) {
+                    arguments.add("-" + flag(i));
+                    arguments.add(String.valueOf(i));
+                }
+            }
+            default -> throw new IllegalArgumentException(shape);
+        }
+        return arguments.subList(0, Math.min(size, arguments.size())).toArray(String[]::new);
+    }
+
+    static Option option(String value) {
+        return new Option() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Option.class;
+            }
+
+            @Override
+            public String value() {
+                return value;
+            }
+        };
+    }
+
+    private static String flag(int index) {
+        StringBuilder flag = new StringBuilder();
+        do {
+            flag.append((char) ('a' + index % 26));
+            index = index / 26 - 1;
+        } while (index >= 0);
+        return "x" + flag;
+    }
+}
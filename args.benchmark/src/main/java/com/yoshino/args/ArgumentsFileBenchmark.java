@@ -0,0 +1,56 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * an id list passed as {@code @file}, expanded from the mapped file compared with reading the file into a {@code String[]} first
+ *
+ * @author xiaoyi
+ * 2022/5/13 20:27
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentsFileBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    Path file;
+
+    public record Options(@Option("l") boolean logging, @Option("i") int[] ids) {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("ids", ".args");
+        Files.writeString(file, IntStream.range(0, size).mapToObj(it -> String.valueOf(it * 7919L % 1000000007))
+            .collect(Collectors.joining("\n", "-l\n-i\n", "\n")));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Options argumentsFile() {
+        return Args.parse(Options.class, "@" + file);
+    }
+
+    @Benchmark
+    public Options readIntoStringArray() throws IOException {
+        return Args.parse(Options.class, Files.readString(file).split("\\s+"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * runs the benchmarks with the gc profiler, so every result comes with allocation rate and bytes per operation.
+ * accepts the usual jmh command line, e.g. {@code java -jar target/benchmarks.jar ArgsBenchmark -p size=1000}
+ *
+ * @author xiaoyi
+ * 2022/5/7 21:02
+ * @since
+ **/
+public class Benchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a program reading only {@code -l} and {@code -p}, with the options declared as a record (parsed up front)
+ * and as an interface (parsed on first access)
+ *
+ * @author xiaoyi
+ * 2022/5/14 17:02
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyOptionsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    String[] arguments;
+
+    public record EagerOptions(@Option("l") boolean logging, @Option("p") int port, @Option("g") String[] group) {
+    }
+
+    public interface LazyOptions {
+        @Option("l")
+        boolean logging();
+
+        @Option("p")
+        int port();
+
+        @Option("g")
+        String[] group();
+    }
+
+    @Setup
+    public void setUp() {
+        arguments = ArgumentVectors.of("few", size);
+    }
+
+    @Benchmark
+    public int eager() {
+        EagerOptions options = Args.parse(EagerOptions.class, arguments);
+        return options.logging() ? options.port() : 0;
+    }
+
+    @Benchmark
+    public int lazy() {
+        LazyOptions options = Args.parse(LazyOptions.class, arguments);
+        return options.logging() ? options.port() : 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the parsers read from arguments tokenized in setup, {@link #tokenize()} measures the tokenizer alone
+ *
+ * @author xiaoyi
+ * 2022/5/7 20:48
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionParsersBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    @Param({"few", "many"})
+    String shape;
+
+    String[] values;
+    Arguments arguments;
+
+    OptionParser<Boolean> bool = OptionParsers.bool();
+    OptionParser<Integer> unary = OptionParsers.unary(0, Integer::parseInt);
+    OptionParser<String[]> list = OptionParsers.list(String[]::new, String::valueOf);
+
+    Option logging = ArgumentVectors.option("l");
+    Option port = ArgumentVectors.option("p");
+    Option group = ArgumentVectors.option("g");
+
+    @Setup
+    public void setUp() {
+        values = ArgumentVectors.of(shape, size);
+        arguments = Arguments.of(values);
+    }
+
+    @Benchmark
+    public Arguments tokenize() {
+        return Arguments.of(values);
+    }
+
+    @Benchmark
+    public Boolean bool() {
+        return bool.parse(arguments, logging);
+    }
+
+    @Benchmark
+    public Integer unary() {
+        return unary.parse(arguments, port);
+    }
+
+    @Benchmark
+    public String[] list() {
+        return list.parse(arguments, group);
+    }
+}
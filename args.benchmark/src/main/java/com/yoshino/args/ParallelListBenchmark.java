@@ -0,0 +1,48 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * numeric id list converted sequentially compared with converted in chunks on the common fork-join pool
+ *
+ * @author xiaoyi
+ * 2022/5/17 23:20
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    Arguments arguments;
+
+    OptionParser<Integer[]> sequential = OptionParsers.list(Integer[]::new, Integer::parseInt);
+    OptionParser<Integer[]> parallel = OptionParsers.parallelList(Integer[]::new, Integer::parseInt, 10_000);
+
+    Option ids = ArgumentVectors.option("i");
+
+    @Setup
+    public void setUp() {
+        arguments = Arguments.of(Stream.concat(Stream.of("-i"), IntStream.range(0, size).mapToObj(it -> String.valueOf(it * 7919))).toArray(String[]::new));
+    }
+
+    @Benchmark
+    public Integer[] sequential() {
+        return sequential.parse(arguments, ids);
+    }
+
+    @Benchmark
+    public Integer[] parallel() {
+        return parallel.parse(arguments, ids);
+    }
+}
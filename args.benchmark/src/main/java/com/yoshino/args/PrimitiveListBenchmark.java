@@ -0,0 +1,48 @@
+package com.yoshino.args;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * numeric id list parsed as {@code Integer[]} compared with {@code int[]}
+ *
+ * @author xiaoyi
+ * 2022/5/9 22:41
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveListBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    Arguments arguments;
+
+    OptionParser<Integer[]> boxed = OptionParsers.list(Integer[]::new, Integer::parseInt);
+    OptionParser<int[]> primitive = OptionParsers.intList();
+
+    Option ids = ArgumentVectors.option("i");
+
+    @Setup
+    public void setUp() {
+        arguments = Arguments.of(Stream.concat(Stream.of("-i"), IntStream.range(0, size).mapToObj(it -> String.valueOf(it * 7919))).toArray(String[]::new));
+    }
+
+    @Benchmark
+    public Integer[] boxed() {
+        return boxed.parse(arguments, ids);
+    }
+
+    @Benchmark
+    public int[] primitive() {
+        return primitive.parse(arguments, ids);
+    }
+}
@@ -1,61 +1,75 @@
-//package com.yoshino.args;
-//
-//import java.lang.reflect.Constructor;
-//import java.lang.reflect.Parameter;
-//import java.util.Arrays;
-//import java.util.List;
-//import java.util.Map;
-//
-///**
-// * @author xiaoyi
-// * 2022/4/19 00:59
-// **/
-//public class Args<T> {
-//    private static final Map<Class<?>, OptionParser> PARSERS = Map.of(
-//        boolean.class, OptionParsers.bool(),
-//        int.class, OptionParsers.unary(0, Integer::parseInt),
-//        String.class, OptionParsers.unary("", String::valueOf),
-//        String[].class, OptionParsers.list(String[]::new, String::valueOf),
-//        Integer[].class, OptionParsers.list(Integer[]::new, Integer::parseInt)
-//    );
-//
-//    public static <T> T parse(Class<T> optionsClass, String... args) {
-//        return new Args<T>(optionsClass, PARSERS).parse(args);
-//    }
-//
-//    private Class<T> optionsClass;
-//    Map<Class<?>, OptionParser> parsers;
-//
-//    public Args(Class<T> optionsClass, Map<Class<?>, OptionParser> parsers) {
-//        this.optionsClass = optionsClass;
-//        this.parsers = parsers;
-//    }
-//
-//    public T parse(String... args) {
-//        try {
-//            List<String> arguments = Arrays.asList(args);
-//            Constructor<?> constructor = optionsClass.getDeclaredConstructors()[0];
-//
-//            Object[] values = Arrays.stream(constructor.getParameters()).map(it -> parseOption(arguments, it)).toArray();
-//
-//            return (T) constructor.newInstance(values);
-//        } catch (IllegalOptionException | UnsupportedOptionTypeException e) {
-//            throw e;
-//        } catch (Exception e) {
-//            throw new RuntimeException(e);
-//        }
-//    }
-//
-//    private Object parseOption(List<String> arguments, Parameter parameter) {
-//        if (!parameter.isAnnotationPresent(Option.class)) {
-//            throw new IllegalOptionException(parameter.getName());
-//        }
-//        Option option = parameter.getAnnotation(Option.class);
-//        if (!parsers.containsKey(parameter.getType())) {
-//            throw new UnsupportedOptionTypeException(option.value(), parameter.getType());
-//        }
-//        return parsers.get(parameter.getType()).parse(arguments, parameter.getAnnotation(Option.class));
-//    }
-//
-//
-//}
+package com.yoshino.args;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author xiaoyi
+ * 2022/4/19 00:59
+ **/
+public class Args<T> {
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
+    private static final Map<Class<?>, OptionParser> PARSERS = Map.of(
+        boolean.class, OptionParsers.bool(),
+        int.class, OptionParsers.unary(0, Integer::parseInt),
+        String.class, OptionParsers.unary("", String::valueOf),
+        String[].class, OptionParsers.list(String[]::new, String::valueOf),
+        Integer[].class, OptionParsers.parallelList(Integer[]::new, Integer::parseInt, PARALLEL_THRESHOLD),
+        int[].class, OptionParsers.intList(),
+        long[].class, OptionParsers.longList(),
+        double[].class, OptionParsers.doubleList()
+    );
+
+    private static final ClassValue<OptionSchema<?>> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected OptionSchema<?> computeValue(Class<?> type) {
+            return OptionSchema.compile(type, PARSERS);
+        }
+    };
+
+    public static <T> T parse(Class<T> optionsClass, String... args) {
+        return new Args<>((OptionSchema<T>) SCHEMAS.get(optionsClass)).parse(args);
+    }
+
+    /**
+     * options missing from the command line are taken from the sources, then fall back to their defaults
+     */
+    public static <T> T parse(Class<T> optionsClass, OptionSources sources, String... args) {
+        return new Args<>(optionsClass, sources).parse(args);
+    }
+
+    /**
+     * a reusable parser for parsing the options class repeatedly on one thread
+     */
+    public static <T> ArgsParser<T> parser(Class<T> optionsClass) {
+        return new ArgsParser<>((OptionSchema<T>) SCHEMAS.get(optionsClass));
+    }
+
+    private OptionSchema<T> schema;
+    private Map<String, List<String>> defaults;
+
+    public Args(Class<T> optionsClass, Map<Class<?>, OptionParser> parsers) {
+        this(OptionSchema.compile(optionsClass, parsers));
+    }
+
+    public Args(Class<T> optionsClass, OptionSources sources) {
+        this((OptionSchema<T>) SCHEMAS.get(optionsClass));
+        this.defaults = schema.defaults(sources);
+    }
+
+    private Args(OptionSchema<T> schema) {
+        this.schema = schema;
+        this.defaults = Map.of();
+    }
+
+    public T parse(String... args) {
+        try {
+            return schema.parse(Arguments.expand(defaults, args));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.yoshino.args;
+
+import com.yoshino.args.exceptions.IllegalValueException;
+import com.yoshino.args.exceptions.IllegalValuesException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * reusable parser of one options class for processes parsing the same options repeatedly.
+ * flags are matched against the options without substrings, value spans are kept in buffers reset on every call,
+ * and validation is reported through a {@link ParseResult} instead of exceptions, so a successful parse
+ * only allocates the option values. an instance is not thread-safe, keep one per thread
+ *
+ * @author xiaoyi
+ * 2022/5/18 21:40
+ * @since
+ **/
+public class ArgsParser<T> {
+
+    private static final String[] NO_STRINGS = new String[0];
+
+    private static final Map<Class<?>, Converter> CONVERTERS = Map.of(
+        boolean.class, ArgsParser::bool,
+        int.class, ArgsParser::integer,
+        String.class, ArgsParser::string,
+        String[].class, ArgsParser::strings,
+        Integer[].class, ArgsParser::integers,
+        int[].class, ArgsParser::ints,
+        long[].class, ArgsParser::longs,
+        double[].class, ArgsParser::doubles
+    );
+
+    private final OptionSchema<T> schema;
+    private final Converter[] converters;
+    private final String[] names;
+    private final int[] keys;
+    private final int[] table;
+
+    private final int[] from;
+    private final int[] to;
+    private final Object[] values;
+    private final ParseResult<T> result = new ParseResult<>();
+
+    ArgsParser(OptionSchema<T> schema) {
+        if (schema instanceof LazyOptionSchema) {
+            throw new IllegalArgumentException("options interfaces are parsed lazily by Args");
+        }
+        this.schema = schema;
+        Option[] options = schema.options;
+        this.converters = new Converter[options.length];
+        this.keys = new int[options.length];
+        this.names = Arrays.stream(options).map(Option::value).distinct().toArray(String[]::new);
+        this.table = new int[Integer.highestOneBit(Math.max(2, names.length * 2) - 1) << 1];
+        Arrays.fill(table, -1);
+        for (int key = 0; key < names.length; key++) {
+            int slot = names[key].hashCode() & (table.length - 1);
+            while (table[slot] != -1) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = key;
+        }
+        for (int i = 0; i < options.length; i++) {
+            keys[i] = Arrays.asList(names).indexOf(options[i].value());
+            converters[i] = CONVERTERS.getOrDefault(schema.types[i], fallback(schema.parsers[i]));
+        }
+        this.from = new int[names.length];
+        this.to = new int[names.length];
+        this.values = new Object[options.length];
+    }
+
+    /**
+     * @return the result of this call, overwritten by the next call
+     */
+    public ParseResult<T> parse(String... args) {
+        if (ExpandedArguments.isExpandable(args)) {
+            args = ExpandedArguments.of(args).toArray(String[]::new);
+        }
+        result.reset();
+        index(args);
+        Option[] options = schema.options;
+        for (int i = 0; i < options.length && result.isValid(); i++) {
+            values[i] = converters[i].convert(args, from[keys[i]], to[keys[i]], options[i], result);
+        }
+        if (result.isValid()) {
+            try {
+                result.success(schema.construct(values));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+        Arrays.fill(values, null);
+        return result;
+    }
+
+    private void index(String[] args) {
+        Arrays.fill(from, -1);
+        int current = -1;
+        for (int i = 0; i < args.length; i++) {
+            if (Arguments.isFlag(args[i])) {
+                if (current != -1) {
+                    to[current] = i;
+                }
+                current = key(args[i]);
+                if (current != -1 && from[current] != -1) {
+                    // the first occurrence wins, later values are left out like those of unknown flags
+                    current = -1;
+                }
+                if (current != -1) {
+                    from[current] = i + 1;
+                }
+            }
+        }
+        if (current != -1) {
+            to[current] = args.length;
+        }
+    }
+
+    /**
+     * index of the option named by the flag, hashed the same way as {@link String#hashCode()} without the dash
+     */
+    private int key(String flag) {
+        int hash = 0;
+        for (int i = 1; i < flag.length(); i++) {
+            hash = 31 * hash + flag.charAt(i);
+        }
+        for (int slot = hash & (table.length - 1); table[slot] != -1; slot = (slot + 1) & (table.length - 1)) {
+            String name = names[table[slot]];
+            if (name.length() == flag.length() - 1 && flag.startsWith(name, 1)) {
+                return table[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * converts the values in [from, to) of an option, {@code from} is -1 if the option is absent.
+     * returns null after recording an error in the result
+     */
+    private interface Converter {
+        Object convert(String[] args, int from, int to, Option option, ParseResult<?> result);
+    }
+
+    private static Object bool(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        if (from != -1 && to > from) {
+            result.fail(ParseResult.Error.TOO_MANY_ARGUMENTS, option.value(), null);
+        }
+        return from != -1;
+    }
+
+    private static Object integer(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        if (from == -1 || !single(from, to, option, result)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(args[from]);
+        } catch (NumberFormatException e) {
+            result.fail(ParseResult.Error.ILLEGAL_VALUE, option.value(), args[from]);
+            return null;
+        }
+    }
+
+    private static Object string(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        if (from == -1 || !single(from, to, option, result)) {
+            return "";
+        }
+        return args[from];
+    }
+
+    private static boolean single(int from, int to, Option option, ParseResult<?> result) {
+        if (to - from < 1) {
+            result.fail(ParseResult.Error.INSUFFICIENT_ARGUMENTS, option.value(), null);
+            return false;
+        }
+        if (to - from > 1) {
+            result.fail(ParseResult.Error.TOO_MANY_ARGUMENTS, option.value(), null);
+            return false;
+        }
+        return true;
+    }
+
+    private static Object strings(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        return from == -1 || to == from ? NO_STRINGS : Arrays.copyOfRange(args, from, to);
+    }
+
+    /**
+     * every invalid value is reported, same as {@link OptionParsers#parallelList} registered for {@code Integer[]}
+     */
+    private static Object integers(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        Integer[] values = new Integer[from == -1 ? 0 : to - from];
+        List<String> invalid = null;
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = Integer.parseInt(args[from + i]);
+            } catch (NumberFormatException e) {
+                if (invalid == null) {
+                    invalid = new ArrayList<>();
+                }
+                invalid.add(args[from + i]);
+            }
+        }
+        if (invalid != null) {
+            result.fail(option.value(), invalid);
+            return null;
+        }
+        return values;
+    }
+
+    private static Object ints(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        int[] values = new int[from == -1 ? 0 : to - from];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = Integer.parseInt(args[from + i]);
+            } catch (NumberFormatException e) {
+                result.fail(ParseResult.Error.ILLEGAL_VALUE, option.value(), args[from + i]);
+                return null;
+            }
+        }
+        return values;
+    }
+
+    private static Object longs(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        long[] values = new long[from == -1 ? 0 : to - from];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = Long.parseLong(args[from + i]);
+            } catch (NumberFormatException e) {
+                result.fail(ParseResult.Error.ILLEGAL_VALUE, option.value(), args[from + i]);
+                return null;
+            }
+        }
+        return values;
+    }
+
+    private static Object doubles(String[] args, int from, int to, Option option, ParseResult<?> result) {
+        double[] values = new double[from == -1 ? 0 : to - from];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = Double.parseDouble(args[from + i]);
+            } catch (NumberFormatException e) {
+                result.fail(ParseResult.Error.ILLEGAL_VALUE, option.value(), args[from + i]);
+                return null;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * a parser without a converter, such as one of a custom type, goes through {@link Arguments},
+     * its exceptions are turned into errors
+     */
+    private static Converter fallback(OptionParser<?> parser) {
+        return (args, from, to, option, result) -> {
+            String[] arguments = from == -1 ? NO_STRINGS : Arrays.copyOfRange(args, from - 1, to);
+            try {
+                return parser.parse(Arguments.of(arguments), option);
+            } catch (InsufficientArgumentsException e) {
+                result.fail(ParseResult.Error.INSUFFICIENT_ARGUMENTS, option.value(), null);
+            } catch (TooManyArgumentsException e) {
+                result.fail(ParseResult.Error.TOO_MANY_ARGUMENTS, option.value(), null);
+            } catch (IllegalValuesException e) {
+                result.fail(option.value(), e.getValues());
+            } catch (IllegalValueException e) {
+                result.fail(ParseResult.Error.ILLEGAL_VALUE, option.value(), e.getValue());
+            }
+            return null;
+        };
+    }
+}
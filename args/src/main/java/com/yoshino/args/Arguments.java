@@ -0,0 +1,92 @@
+package com.yoshino.args;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * command line arguments tokenized in a single pass, every flag is indexed with the span of values following it
+ *
+ * @author xiaoyi
+ * 2022/5/3 21:40
+ * @since
+ **/
+class Arguments {
+
+    private final List<String> arguments;
+    private final Map<String, List<String>> flags;
+
+    private Arguments(List<String> arguments, Map<String, List<String>> defaults) {
+        this.arguments = arguments;
+        this.flags = new HashMap<>();
+        int flag = -1;
+        for (int i = 0; i < arguments.size(); i++) {
+            if (arguments instanceof ExpandedArguments expanded ? expanded.isFlag(i) : isFlag(arguments.get(i))) {
+                index(flag, i);
+                flag = i;
+            }
+        }
+        index(flag, arguments.size());
+        defaults.forEach(flags::putIfAbsent);
+    }
+
+    public static Arguments of(String... arguments) {
+        return new Arguments(Arrays.asList(arguments), Map.of());
+    }
+
+    public static Arguments of(List<String> arguments) {
+        return new Arguments(arguments, Map.of());
+    }
+
+    /**
+     * same as {@link #of(String...)}, with {@code @file} arguments expanded to the arguments in the file
+     */
+    public static Arguments expand(String... arguments) {
+        return expand(Map.of(), arguments);
+    }
+
+    /**
+     * same as {@link #expand(String...)}, options missing from the arguments take their values from the defaults
+     */
+    public static Arguments expand(Map<String, List<String>> defaults, String... arguments) {
+        List<String> expanded = ExpandedArguments.isExpandable(arguments) ? ExpandedArguments.of(arguments) : Arrays.asList(arguments);
+        return new Arguments(expanded, defaults);
+    }
+
+    public Optional<List<String>> values(String option) {
+        return Optional.ofNullable(flags.get(option));
+    }
+
+    private void index(int flag, int end) {
+        if (flag != -1) {
+            // the first occurrence wins, same as looking the flag up from the beginning
+            flags.putIfAbsent(arguments.get(flag).substring(1), arguments.subList(flag + 1, end));
+        }
+    }
+
+    /**
+     * same as matching {@code ^-[a-zA-Z][a-zA-Z0-9_-]*$}, so option names like {@code p2} or {@code log-dir}
+     * are flags while negative numbers are kept as values
+     */
+    static boolean isFlag(String argument) {
+        if (argument.length() < 2 || argument.charAt(0) != '-' || !isLetter(argument.charAt(1))) {
+            return false;
+        }
+        for (int i = 2; i < argument.length(); i++) {
+            if (!isNamePart(argument.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isLetter(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    static boolean isNamePart(int c) {
+        return isLetter(c) || c >= '0' && c <= '9' || c == '-' || c == '_';
+    }
+}
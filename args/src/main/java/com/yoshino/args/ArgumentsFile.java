@@ -0,0 +1,159 @@
+package com.yoshino.args;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * arguments read from an {@code @file}. the file is memory mapped and only the token boundaries are kept,
+ * a token becomes a String when it is read.
+ * <ul>
+ *     <li>tokens are separated by whitespace</li>
+ *     <li>whitespace inside single or double quotes belongs to the token, the quotes are removed</li>
+ *     <li>inside double quotes a backslash escapes the next character</li>
+ * </ul>
+ *
+ * @author xiaoyi
+ * 2022/5/12 21:14
+ * @since
+ **/
+class ArgumentsFile extends AbstractList<String> implements RandomAccess {
+
+    private final String file;
+    private final ByteBuffer buffer;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private final BitSet quoted = new BitSet();
+    private int size;
+
+    private ArgumentsFile(String file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        tokenize();
+    }
+
+    static ArgumentsFile read(String file) {
+        try (FileChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentsFileException(file);
+            }
+            return new ArgumentsFile(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new IllegalArgumentsFileException(file, e);
+        }
+    }
+
+    private void tokenize() {
+        int limit = buffer.limit();
+        int i = 0;
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (isWhitespace(b)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean needsUnquote = false;
+            byte quote = 0;
+            for (; i < limit; i++) {
+                b = buffer.get(i);
+                if (quote == 0) {
+                    if (isWhitespace(b)) {
+                        break;
+                    }
+                    if (b == '"' || b == '\'') {
+                        quote = b;
+                        needsUnquote = true;
+                    }
+                } else if (b == quote) {
+                    quote = 0;
+                } else if (quote == '"' && b == '\\') {
+                    i++;
+                }
+            }
+            if (quote != 0) {
+                throw new IllegalArgumentsFileException(file);
+            }
+            add(start, Math.min(i, limit), needsUnquote);
+        }
+    }
+
+    private void add(int start, int end, boolean needsUnquote) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        if (needsUnquote) {
+            quoted.set(size);
+        }
+        size++;
+    }
+
+    @Override
+    public String get(int index) {
+        String token = decode(index);
+        return quoted.get(index) ? unquote(token) : token;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * same as {@link Arguments#isFlag(String)}, checked on the bytes without creating the token
+     */
+    boolean isFlag(int index) {
+        if (quoted.get(index)) {
+            return Arguments.isFlag(get(index));
+        }
+        int start = starts[index];
+        int end = ends[index];
+        if (end - start < 2 || buffer.get(start) != '-' || !Arguments.isLetter(buffer.get(start + 1))) {
+            return false;
+        }
+        for (int i = start + 2; i < end; i++) {
+            if (!Arguments.isNamePart(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decode(int index) {
+        byte[] bytes = new byte[ends[index] - starts[index]];
+        buffer.get(starts[index], bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String unquote(String token) {
+        StringBuilder result = new StringBuilder(token.length());
+        char quote = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            } else if (quote == '"' && c == '\\' && i + 1 < token.length()) {
+                result.append(token.charAt(++i));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+    }
+}
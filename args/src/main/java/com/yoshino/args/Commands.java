@@ -0,0 +1,57 @@
+package com.yoshino.args;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * subcommands routed to their options classes through a trie of command words.
+ * registering a command only adds its words to the trie, the options class is compiled when the command is first parsed.
+ *
+ * @author xiaoyi
+ * 2022/5/16 21:02
+ * @since
+ **/
+public class Commands {
+
+    private final Node root = new Node();
+
+    /**
+     * @param command command words separated by spaces, e.g. {@code "remote add"}
+     */
+    public Commands command(String command, Class<?> optionsClass) {
+        Node node = root;
+        for (String word : command.strip().split("\\s+")) {
+            node = node.children.computeIfAbsent(word, it -> new Node());
+        }
+        if (node.optionsClass != null) {
+            throw new IllegalArgumentException(command);
+        }
+        node.optionsClass = optionsClass;
+        return this;
+    }
+
+    /**
+     * the options of the longest registered command the arguments start with, parsed from the arguments after it
+     */
+    public Object parse(String... args) {
+        Node node = root;
+        Class<?> optionsClass = null;
+        int words = 0;
+        for (int i = 0; i < args.length && (node = node.children.get(args[i])) != null; i++) {
+            if (node.optionsClass != null) {
+                optionsClass = node.optionsClass;
+                words = i + 1;
+            }
+        }
+        if (optionsClass == null) {
+            throw new UnknownCommandException(args.length == 0 ? "" : args[0]);
+        }
+        return Args.parse(optionsClass, Arrays.copyOfRange(args, words, args.length));
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Class<?> optionsClass;
+    }
+}
@@ -0,0 +1,98 @@
+package com.yoshino.args;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * command line arguments with every {@code @file} replaced by the arguments in that file,
+ * an argument starting with {@code @@} is kept as a literal starting with {@code @}
+ *
+ * @author xiaoyi
+ * 2022/5/12 22:03
+ * @since
+ **/
+class ExpandedArguments extends AbstractList<String> implements RandomAccess {
+
+    private final List<List<String>> segments;
+    private final int[] offsets;
+    private final int size;
+
+    private ExpandedArguments(List<List<String>> segments) {
+        this.segments = segments;
+        this.offsets = new int[segments.size()];
+        int size = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            offsets[i] = size;
+            size += segments.get(i).size();
+        }
+        this.size = size;
+    }
+
+    static boolean isExpandable(String... arguments) {
+        for (String argument : arguments) {
+            if (!argument.isEmpty() && argument.charAt(0) == '@') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ExpandedArguments of(String... arguments) {
+        List<List<String>> segments = new ArrayList<>();
+        List<String> plain = new ArrayList<>();
+        for (String argument : arguments) {
+            if (argument.startsWith("@@")) {
+                plain.add(argument.substring(1));
+            } else if (argument.startsWith("@") && argument.length() > 1) {
+                if (!plain.isEmpty()) {
+                    segments.add(plain);
+                    plain = new ArrayList<>();
+                }
+                segments.add(ArgumentsFile.read(argument.substring(1)));
+            } else {
+                plain.add(argument);
+            }
+        }
+        if (!plain.isEmpty()) {
+            segments.add(plain);
+        }
+        return new ExpandedArguments(segments);
+    }
+
+    @Override
+    public String get(int index) {
+        int segment = segment(index);
+        return segments.get(segment).get(index - offsets[segment]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    boolean isFlag(int index) {
+        int segment = segment(index);
+        if (segments.get(segment) instanceof ArgumentsFile file) {
+            return file.isFlag(index - offsets[segment]);
+        }
+        return Arguments.isFlag(get(index));
+    }
+
+    private int segment(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int segment = Arrays.binarySearch(offsets, index);
+        if (segment < 0) {
+            return -segment - 2;
+        }
+        // skip empty segments sharing the same offset
+        while (segment + 1 < offsets.length && offsets[segment + 1] == index) {
+            segment++;
+        }
+        return segment;
+    }
+}
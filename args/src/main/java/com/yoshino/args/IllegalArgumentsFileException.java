@@ -0,0 +1,24 @@
+package com.yoshino.args;
+
+/**
+ * @author xiaoyi
+ * 2022/5/12 21:06
+ * @since
+ **/
+public class IllegalArgumentsFileException extends RuntimeException {
+
+    private final String file;
+
+    public IllegalArgumentsFileException(String file) {
+        this.file = file;
+    }
+
+    public IllegalArgumentsFileException(String file, Throwable cause) {
+        super(cause);
+        this.file = file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+}
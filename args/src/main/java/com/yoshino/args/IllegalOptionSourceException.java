@@ -0,0 +1,20 @@
+package com.yoshino.args;
+
+/**
+ * @author xiaoyi
+ * 2022/5/15 15:02
+ * @since
+ **/
+public class IllegalOptionSourceException extends RuntimeException {
+
+    private final String source;
+
+    public IllegalOptionSourceException(String source, Throwable cause) {
+        super(cause);
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
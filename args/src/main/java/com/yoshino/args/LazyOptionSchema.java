@@ -0,0 +1,94 @@
+package com.yoshino.args;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * options interface compiled once: every abstract method is an option. parsing only tokenizes the arguments,
+ * the returned proxy converts an option through its parser on first access and keeps the value.
+ * errors in an option's values are therefore thrown when that option is read.
+ *
+ * @author xiaoyi
+ * 2022/5/14 16:08
+ * @since
+ **/
+class LazyOptionSchema<T> extends OptionSchema<T> {
+
+    private static final Object UNPARSED = new Object();
+
+    private final Class<T> optionsInterface;
+    private final Map<Method, Integer> indexes;
+
+    private LazyOptionSchema(Class<T> optionsInterface, Option[] options, Class<?>[] types, OptionParser<?>[] parsers, Map<Method, Integer> indexes) {
+        super(options, types, parsers, null);
+        this.optionsInterface = optionsInterface;
+        this.indexes = indexes;
+    }
+
+    static <T> LazyOptionSchema<T> compile(Class<T> optionsInterface, Map<Class<?>, OptionParser> parsers) {
+        List<Method> methods = Arrays.stream(optionsInterface.getMethods())
+            .filter(it -> !it.isDefault() && !Modifier.isStatic(it.getModifiers())).toList();
+        Option[] options = new Option[methods.size()];
+        Class<?>[] types = new Class<?>[methods.size()];
+        OptionParser<?>[] optionParsers = new OptionParser<?>[methods.size()];
+        Map<Method, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            if (method.getParameterCount() != 0) {
+                throw new IllegalOptionException(method.getName());
+            }
+            options[i] = option(method, method.getName());
+            types[i] = method.getReturnType();
+            optionParsers[i] = parser(options[i], types[i], parsers);
+            indexes.put(method, i);
+        }
+        return new LazyOptionSchema<>(optionsInterface, options, types, optionParsers, indexes);
+    }
+
+    @Override
+    T parse(Arguments arguments) {
+        return optionsInterface.cast(Proxy.newProxyInstance(optionsInterface.getClassLoader(),
+            new Class<?>[]{optionsInterface}, new LazyOptions(arguments)));
+    }
+
+    private class LazyOptions implements InvocationHandler {
+        private final Arguments arguments;
+        private final Object[] values;
+
+        LazyOptions(Arguments arguments) {
+            this.arguments = arguments;
+            this.values = new Object[parsers.length];
+            Arrays.fill(values, UNPARSED);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = indexes.get(method);
+            if (index != null) {
+                return value(index);
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> optionsInterface.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+
+        private synchronized Object value(int index) {
+            if (values[index] == UNPARSED) {
+                values[index] = parsers[index].parse(arguments, options[index]);
+            }
+            return values[index];
+        }
+    }
+}
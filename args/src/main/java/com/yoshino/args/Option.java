@@ -1,16 +1,16 @@
-//package com.yoshino.args;
-//
-//import java.lang.annotation.ElementType;
-//import java.lang.annotation.Retention;
-//import java.lang.annotation.RetentionPolicy;
-//import java.lang.annotation.Target;
-//
-//
-///**
-// * @author xiaoyi
-// */
-//@Retention(RetentionPolicy.RUNTIME)
-//@Target({ElementType.PARAMETER})
-//public @interface Option {
-//    String value();
-//}
+package com.yoshino.args;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * @author xiaoyi
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.METHOD})
+public @interface Option {
+    String value();
+}
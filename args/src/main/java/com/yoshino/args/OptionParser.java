@@ -1,13 +1,17 @@
-//package com.yoshino.args;
-//
-//import java.util.List;
-//
-///**
-// * @author xiaoyi
-// * 2022/4/19 23:53
-// * @since
-// **/
-//interface OptionParser<T> {
-//
-//    T parse(List<String> arguments, Option option);
-//}
+package com.yoshino.args;
+
+import java.util.List;
+
+/**
+ * @author xiaoyi
+ * 2022/4/19 23:53
+ * @since
+ **/
+interface OptionParser<T> {
+
+    T parse(Arguments arguments, Option option);
+
+    default T parse(List<String> arguments, Option option) {
+        return parse(Arguments.of(arguments), option);
+    }
+}
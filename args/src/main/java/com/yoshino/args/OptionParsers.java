@@ -1,71 +1,180 @@
-//package com.yoshino.args;
-//
-//import com.yoshino.args.exceptions.IllegalValueException;
-//
-//import java.util.List;
-//import java.util.Optional;
-//import java.util.function.Function;
-//import java.util.function.IntFunction;
-//import java.util.stream.IntStream;
-//
-///**
-// * @author xiaoyi
-// * 2022/4/19 23:53
-// * @since
-// **/
-//class OptionParsers {
-//
-//    public static OptionParser<Boolean> bool() {
-//        return (arguments, option) ->
-//            values(arguments, option, 0).map(it -> true).orElse(false);
-//    }
-//
-//    public static <T> OptionParser<T> unary(T defaultValue, Function<String, T> valueParser) {
-//        return (arguments, option) -> values(arguments, option, 1)
-//            .map(it -> parseValue(option, it.get(0), valueParser))
-//            .orElse(defaultValue);
-//    }
-//
-//    public static <T> OptionParser<T[]> list(IntFunction<T[]> generator, Function<String, T> valueParser) {
-//        return (arguments, option) -> values(arguments, option)
-//            .map(it -> it.stream().map(value -> parseValue(option, value, valueParser))
-//                .toArray(generator))
-//            .orElse(generator.apply(0));
-//    }
-//
-//
-//    static Optional<List<String>> values(List<String> arguments, Option option) {
-//        int index = arguments.indexOf("-" + option.value());
-//        return Optional.ofNullable(index == -1 ? null : values(arguments, index));
-//    }
-//
-//    static Optional<List<String>> values(List<String> arguments, Option option, int exceptedSize) {
-//        return values(arguments, option).map(it -> checkSizeAndGet(option, exceptedSize, it));
-//
-//    }
-//
-//    private static List<String> checkSizeAndGet(Option option, int exceptedSize, List<String> values) {
-//        if (values.size() < exceptedSize) {
-//            throw new InsufficientArgumentsException(option.value());
-//        }
-//        if (values.size() > exceptedSize) {
-//            throw new TooManyArgumentsException(option.value());
-//        }
-//        return values;
-//    }
-//
-//    private static <T> T parseValue(Option option, String value, Function<String, T> valueParser) {
-//        try {
-//            return valueParser.apply(value);
-//        } catch (Exception e) {
-//            throw new IllegalValueException(option.value(), value);
-//        }
-//    }
-//
-//    private static List<String> values(List<String> arguments, int index) {
-//        return arguments.subList(index + 1, IntStream.range(index + 1, arguments.size())
-//            .filter(it -> arguments.get(it).matches("^-[a-zA-Z]+$"))
-//            .findFirst().orElse(arguments.size()));
-//    }
-//
-//}
+package com.yoshino.args;
+
+import com.yoshino.args.exceptions.IllegalValueException;
+import com.yoshino.args.exceptions.IllegalValuesException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * @author xiaoyi
+ * 2022/4/19 23:53
+ * @since
+ **/
+class OptionParsers {
+
+    public static OptionParser<Boolean> bool() {
+        return (arguments, option) ->
+            values(arguments, option, 0).map(it -> true).orElse(false);
+    }
+
+    public static <T> OptionParser<T> unary(T defaultValue, Function<String, T> valueParser) {
+        return (arguments, option) -> values(arguments, option, 1)
+            .map(it -> parseValue(option, it.get(0), valueParser))
+            .orElse(defaultValue);
+    }
+
+    public static <T> OptionParser<T[]> list(IntFunction<T[]> generator, Function<String, T> valueParser) {
+        return (arguments, option) -> values(arguments, option)
+            .map(it -> it.stream().map(value -> parseValue(option, value, valueParser))
+                .toArray(generator))
+            .orElse(generator.apply(0));
+    }
+
+    /**
+     * same as {@link #list(IntFunction, Function)}, but lists of at least {@code threshold} values are converted
+     * in chunks on the common fork-join pool, unless the pool has a single worker. every invalid value is reported
+     * in one {@link IllegalValuesException}
+     */
+    public static <T> OptionParser<T[]> parallelList(IntFunction<T[]> generator, Function<String, T> valueParser, int threshold) {
+        return (arguments, option) -> values(arguments, option)
+            .map(it -> {
+                T[] result = generator.apply(it.size());
+                int parallelism = ForkJoinPool.getCommonPoolParallelism();
+                boolean parallel = it.size() >= threshold && parallelism > 1;
+                ListConversion<T> conversion = new ListConversion<>(it, result, valueParser, 0, it.size(),
+                    parallel ? Math.max(threshold, it.size() / (parallelism * 4)) : it.size());
+                List<String> invalid = parallel ? ForkJoinPool.commonPool().invoke(conversion) : conversion.compute();
+                if (!invalid.isEmpty()) {
+                    throw new IllegalValuesException(option.value(), invalid);
+                }
+                return result;
+            })
+            .orElseGet(() -> generator.apply(0));
+    }
+
+    /**
+     * converts the values in [from, to) into the result, returning the invalid values in order
+     */
+    private static class ListConversion<T> extends RecursiveTask<List<String>> {
+        private final List<String> values;
+        private final T[] result;
+        private final Function<String, T> valueParser;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        ListConversion(List<String> values, T[] result, Function<String, T> valueParser, int from, int to, int chunk) {
+            this.values = values;
+            this.result = result;
+            this.valueParser = valueParser;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected List<String> compute() {
+            if (to - from > chunk) {
+                int middle = (from + to) >>> 1;
+                ListConversion<T> left = new ListConversion<>(values, result, valueParser, from, middle, chunk);
+                ListConversion<T> right = new ListConversion<>(values, result, valueParser, middle, to, chunk);
+                right.fork();
+                List<String> invalid = left.compute();
+                List<String> rightInvalid = right.join();
+                if (rightInvalid.isEmpty()) {
+                    return invalid;
+                }
+                if (invalid.isEmpty()) {
+                    return rightInvalid;
+                }
+                List<String> merged = new ArrayList<>(invalid);
+                merged.addAll(rightInvalid);
+                return merged;
+            }
+            List<String> invalid = List.of();
+            for (int i = from; i < to; i++) {
+                String value = values.get(i);
+                try {
+                    result[i] = valueParser.apply(value);
+                } catch (Exception e) {
+                    if (invalid.isEmpty()) {
+                        invalid = new ArrayList<>();
+                    }
+                    invalid.add(value);
+                }
+            }
+            return invalid;
+        }
+    }
+
+    public static OptionParser<int[]> intList() {
+        return primitiveList(int[]::new, (values, index, value) -> values[index] = Integer.parseInt(value));
+    }
+
+    public static OptionParser<long[]> longList() {
+        return primitiveList(long[]::new, (values, index, value) -> values[index] = Long.parseLong(value));
+    }
+
+    public static OptionParser<double[]> doubleList() {
+        return primitiveList(double[]::new, (values, index, value) -> values[index] = Double.parseDouble(value));
+    }
+
+    /**
+     * values are parsed into the primitive array directly, without boxing every element
+     */
+    private static <A> OptionParser<A> primitiveList(IntFunction<A> generator, ElementParser<A> elementParser) {
+        return (arguments, option) -> values(arguments, option)
+            .map(it -> {
+                A result = generator.apply(it.size());
+                for (int i = 0; i < it.size(); i++) {
+                    String value = it.get(i);
+                    try {
+                        elementParser.parse(result, i, value);
+                    } catch (Exception e) {
+                        throw new IllegalValueException(option.value(), value);
+                    }
+                }
+                return result;
+            })
+            .orElseGet(() -> generator.apply(0));
+    }
+
+    interface ElementParser<A> {
+        void parse(A values, int index, String value);
+    }
+
+
+    static Optional<List<String>> values(Arguments arguments, Option option) {
+        return arguments.values(option.value());
+    }
+
+    static Optional<List<String>> values(Arguments arguments, Option option, int exceptedSize) {
+        return values(arguments, option).map(it -> checkSizeAndGet(option, exceptedSize, it));
+
+    }
+
+    private static List<String> checkSizeAndGet(Option option, int exceptedSize, List<String> values) {
+        if (values.size() < exceptedSize) {
+            throw new InsufficientArgumentsException(option.value());
+        }
+        if (values.size() > exceptedSize) {
+            throw new TooManyArgumentsException(option.value());
+        }
+        return values;
+    }
+
+    private static <T> T parseValue(Option option, String value, Function<String, T> valueParser) {
+        try {
+            return valueParser.apply(value);
+        } catch (Exception e) {
+            throw new IllegalValueException(option.value(), value);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.yoshino.args;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * options class compiled once: the option of every constructor parameter, its resolved parser and
+ * a method handle to the constructor, so parsing does no reflection
+ *
+ * @author xiaoyi
+ * 2022/5/5 22:17
+ * @since
+ **/
+class OptionSchema<T> {
+
+    final Option[] options;
+    final Class<?>[] types;
+    final OptionParser<?>[] parsers;
+    private final MethodHandle constructor;
+
+    OptionSchema(Option[] options, Class<?>[] types, OptionParser<?>[] parsers, MethodHandle constructor) {
+        this.options = options;
+        this.types = types;
+        this.parsers = parsers;
+        this.constructor = constructor;
+    }
+
+    static <T> OptionSchema<T> compile(Class<T> optionsClass, Map<Class<?>, OptionParser> parsers) {
+        if (optionsClass.isInterface()) {
+            return LazyOptionSchema.compile(optionsClass, parsers);
+        }
+        Constructor<?> constructor = optionsClass.getDeclaredConstructors()[0];
+        Parameter[] parameters = constructor.getParameters();
+        Option[] options = new Option[parameters.length];
+        Class<?>[] types = new Class<?>[parameters.length];
+        OptionParser<?>[] optionParsers = new OptionParser<?>[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            options[i] = option(parameter, parameter.getName());
+            types[i] = parameter.getType();
+            optionParsers[i] = parser(options[i], types[i], parsers);
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                .asSpreader(Object[].class, parameters.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+            return new OptionSchema<>(options, types, optionParsers, handle);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static Option option(AnnotatedElement element, String name) {
+        if (!element.isAnnotationPresent(Option.class)) {
+            throw new IllegalOptionException(name);
+        }
+        return element.getAnnotation(Option.class);
+    }
+
+    static OptionParser<?> parser(Option option, Class<?> type, Map<Class<?>, OptionParser> parsers) {
+        if (!parsers.containsKey(type)) {
+            throw new UnsupportedOptionTypeException(option.value(), type);
+        }
+        return parsers.get(type);
+    }
+
+    /**
+     * values of the options missing from the command line, resolved from the sources once
+     */
+    Map<String, List<String>> defaults(OptionSources sources) {
+        Map<String, List<String>> defaults = new HashMap<>();
+        for (int i = 0; i < options.length; i++) {
+            String option = options[i].value();
+            sources.values(option, types[i]).ifPresent(it -> defaults.put(option, it));
+        }
+        return defaults;
+    }
+
+    T parse(Arguments arguments) throws Throwable {
+        Object[] values = new Object[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            values[i] = parsers[i].parse(arguments, options[i]);
+        }
+        return construct(values);
+    }
+
+    T construct(Object[] values) throws Throwable {
+        return (T) (Object) constructor.invokeExact(values);
+    }
+}
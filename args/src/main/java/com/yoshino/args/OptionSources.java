@@ -0,0 +1,74 @@
+package com.yoshino.args;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * where an option is looked up when it is not on the command line, in the order the sources are added.
+ * an option {@code p} is read from the environment variable {@code prefix + "P"} and from the property {@code prefix + "p"},
+ * environment variables are named in upper case whatever the locale and with dashes as underscores,
+ * so {@code log-dir} is read from {@code prefix + "LOG_DIR"}.
+ * a value of a list option is split on whitespace into its values, a value of any other option is taken whole,
+ * a boolean option is set when its value is {@code true}.
+ *
+ * @author xiaoyi
+ * 2022/5/15 14:20
+ * @since
+ **/
+public class OptionSources {
+
+    private final List<Source> sources = new ArrayList<>();
+
+    public OptionSources environment() {
+        return environment(System.getenv(), "");
+    }
+
+    public OptionSources environment(Map<String, String> variables, String prefix) {
+        sources.add(option -> variables.get(prefix + option.toUpperCase(Locale.ROOT).replace('-', '_')));
+        return this;
+    }
+
+    public OptionSources properties(Properties properties, String prefix) {
+        sources.add(option -> properties.getProperty(prefix + option));
+        return this;
+    }
+
+    public OptionSources properties(Path file, String prefix) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalOptionSourceException(file.toString(), e);
+        }
+        return properties(properties, prefix);
+    }
+
+    Optional<List<String>> values(String option, Class<?> type) {
+        for (Source source : sources) {
+            String value = source.get(option);
+            if (value != null) {
+                if (type == boolean.class) {
+                    return Boolean.parseBoolean(value.strip()) ? Optional.of(List.of()) : Optional.empty();
+                }
+                if (!type.isArray()) {
+                    return Optional.of(List.of(value));
+                }
+                return Optional.of(value.isBlank() ? List.of() : Arrays.asList(value.strip().split("\\s+")));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private interface Source {
+        String get(String option);
+    }
+}
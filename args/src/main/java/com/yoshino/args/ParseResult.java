@@ -0,0 +1,107 @@
+package com.yoshino.args;
+
+import com.yoshino.args.exceptions.IllegalValueException;
+import com.yoshino.args.exceptions.IllegalValuesException;
+
+import java.util.List;
+
+/**
+ * outcome of {@link ArgsParser#parse(String...)}, either the options or the first option that failed validation.
+ * the result is owned by its parser and is overwritten by the parser's next call
+ *
+ * @author xiaoyi
+ * 2022/5/18 21:16
+ * @since
+ **/
+public class ParseResult<T> {
+
+    public enum Error {
+        INSUFFICIENT_ARGUMENTS, TOO_MANY_ARGUMENTS, ILLEGAL_VALUE
+    }
+
+    private T options;
+    private Error error;
+    private String option;
+    private String value;
+    private List<String> values;
+
+    ParseResult() {
+    }
+
+    void reset() {
+        options = null;
+        error = null;
+        option = null;
+        value = null;
+        values = null;
+    }
+
+    void success(T options) {
+        this.options = options;
+    }
+
+    /**
+     * keeps the first error, so validation can carry on without checking every conversion
+     */
+    void fail(Error error, String option, String value) {
+        if (this.error == null) {
+            this.error = error;
+            this.option = option;
+            this.value = value;
+        }
+    }
+
+    /**
+     * every invalid value of a list option, same as {@link IllegalValuesException#getValues()}
+     */
+    void fail(String option, List<String> values) {
+        if (this.error == null) {
+            fail(Error.ILLEGAL_VALUE, option, values.get(0));
+            this.values = values;
+        }
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public T getOptions() {
+        return options;
+    }
+
+    public Error getError() {
+        return error;
+    }
+
+    public String getOption() {
+        return option;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * the invalid values, the single {@link #getValue()} unless a list option reported several of them
+     */
+    public List<String> getValues() {
+        if (values != null) {
+            return values;
+        }
+        return value == null ? List.of() : List.of(value);
+    }
+
+    /**
+     * the options, or the exception {@link Args#parse(Class, String...)} would have thrown
+     */
+    public T get() {
+        if (error == null) {
+            return options;
+        }
+        throw switch (error) {
+            case INSUFFICIENT_ARGUMENTS -> new InsufficientArgumentsException(option);
+            case TOO_MANY_ARGUMENTS -> new TooManyArgumentsException(option);
+            case ILLEGAL_VALUE -> values != null ? new IllegalValuesException(option, values) : new IllegalValueException(option, value);
+        };
+    }
+}
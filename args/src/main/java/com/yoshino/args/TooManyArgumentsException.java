@@ -1,20 +1,20 @@
-//package com.yoshino.args;
-//
-///**
-// * @author xiaoyi
-// * 2022/4/20 23:20
-// * @since
-// **/
-//public class TooManyArgumentsException extends RuntimeException {
-//
-//    private final String option;
-//
-//    public TooManyArgumentsException(String option) {
-//        this.option = option;
-//    }
-//
-//
-//    public String getOption() {
-//        return option;
-//    }
-//}
+package com.yoshino.args;
+
+/**
+ * @author xiaoyi
+ * 2022/4/20 23:20
+ * @since
+ **/
+public class TooManyArgumentsException extends RuntimeException {
+
+    private final String option;
+
+    public TooManyArgumentsException(String option) {
+        this.option = option;
+    }
+
+
+    public String getOption() {
+        return option;
+    }
+}
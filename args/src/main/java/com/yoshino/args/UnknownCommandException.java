@@ -0,0 +1,19 @@
+package com.yoshino.args;
+
+/**
+ * @author xiaoyi
+ * 2022/5/16 21:34
+ * @since
+ **/
+public class UnknownCommandException extends RuntimeException {
+
+    private final String command;
+
+    public UnknownCommandException(String command) {
+        this.command = command;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yoshino.args.exceptions;
+
+import java.util.List;
+
+/**
+ * every invalid value of a list option, {@link #getValue()} is the first of them
+ *
+ * @author xiaoyi
+ * 2022/5/17 22:41
+ * @since
+ **/
+public class IllegalValuesException extends IllegalValueException {
+
+    private final List<String> values;
+
+    public IllegalValuesException(String option, List<String> values) {
+        super(option, values.get(0));
+        this.values = values;
+    }
+
+    public List<String> getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,127 @@
+package com.yoshino.args;
+
+import com.yoshino.args.exceptions.IllegalValueException;
+import com.yoshino.args.exceptions.IllegalValuesException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsParserTest {
+
+    record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory,
+                        @Option("g") String[] group, @Option("i") int[] ids) {
+    }
+
+    private final ArgsParser<MultiOptions> parser = Args.parser(MultiOptions.class);
+
+    @Test
+    public void should_parse_options_repeatedly() {
+        MultiOptions first = parser.parse("-l", "-p", "8080", "-d", "/usr/logs", "-g", "this", "is", "-i", "1", "-2").get();
+        MultiOptions second = parser.parse("-p", "8081").get();
+
+        assertTrue(first.logging());
+        assertEquals(8080, first.port());
+        assertEquals("/usr/logs", first.directory());
+        assertArrayEquals(new String[]{"this", "is"}, first.group());
+        assertArrayEquals(new int[]{1, -2}, first.ids());
+
+        assertFalse(second.logging());
+        assertEquals(8081, second.port());
+        assertEquals("", second.directory());
+        assertEquals(0, second.group().length);
+        assertEquals(0, second.ids().length);
+    }
+
+    @Test
+    public void should_ignore_unknown_and_repeated_flags() {
+        MultiOptions options = parser.parse("-x", "1", "-p", "8080", "-p", "8081", "8082").get();
+
+        assertEquals(8080, options.port());
+    }
+
+    @Test
+    public void should_report_too_many_arguments() {
+        ParseResult<MultiOptions> result = parser.parse("-p", "8080", "8081");
+
+        assertFalse(result.isValid());
+        assertEquals(ParseResult.Error.TOO_MANY_ARGUMENTS, result.getError());
+        assertEquals("p", result.getOption());
+        assertThrows(TooManyArgumentsException.class, result::get);
+    }
+
+    @Test
+    public void should_report_insufficient_arguments() {
+        ParseResult<MultiOptions> result = parser.parse("-d");
+
+        assertEquals(ParseResult.Error.INSUFFICIENT_ARGUMENTS, result.getError());
+        assertEquals("d", result.getOption());
+        assertThrows(InsufficientArgumentsException.class, result::get);
+    }
+
+    @Test
+    public void should_report_illegal_value() {
+        ParseResult<MultiOptions> result = parser.parse("-i", "1", "x");
+
+        assertEquals(ParseResult.Error.ILLEGAL_VALUE, result.getError());
+        assertEquals("i", result.getOption());
+        assertEquals("x", result.getValue());
+        IllegalValueException e = assertThrows(IllegalValueException.class, result::get);
+        assertEquals("x", e.getValue());
+    }
+
+    @Test
+    public void should_reset_result_between_calls() {
+        assertFalse(parser.parse("-p").isValid());
+
+        ParseResult<MultiOptions> result = parser.parse("-p", "8080");
+
+        assertTrue(result.isValid());
+        assertNull(result.getError());
+        assertEquals(8080, result.getOptions().port());
+    }
+
+    record ListOptions(@Option("p") int port, @Option("d") Integer[] decimals, @Option("l") long[] longs) {
+    }
+
+    @Test
+    public void should_report_every_illegal_value_of_list_option() {
+        ParseResult<ListOptions> result = Args.parser(ListOptions.class).parse("-d", "1", "x", "2", "y");
+
+        assertEquals(ParseResult.Error.ILLEGAL_VALUE, result.getError());
+        assertEquals("x", result.getValue());
+        assertEquals(List.of("x", "y"), result.getValues());
+        IllegalValuesException e = assertThrows(IllegalValuesException.class, result::get);
+        assertEquals(List.of("x", "y"), e.getValues());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-d 1 x 2 y", "-p", "-p 1 2", "-p x", "-l 1 x y", "-p 1 -d x -l y"})
+    public void should_report_same_error_as_args(String arguments) {
+        String[] args = arguments.split(" ");
+
+        RuntimeException expected = assertThrows(RuntimeException.class, () -> Args.parse(ListOptions.class, args));
+        RuntimeException actual = assertThrows(RuntimeException.class, Args.parser(ListOptions.class).parse(args)::get);
+
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    private static List<Object> describe(RuntimeException e) {
+        if (e instanceof IllegalValuesException values) {
+            return List.of(e.getClass(), values.getOption(), values.getValues());
+        }
+        if (e instanceof IllegalValueException value) {
+            return List.of(e.getClass(), value.getOption(), value.getValue());
+        }
+        if (e instanceof InsufficientArgumentsException insufficient) {
+            return List.of(e.getClass(), insufficient.getOption());
+        }
+        if (e instanceof TooManyArgumentsException tooMany) {
+            return List.of(e.getClass(), tooMany.getOption());
+        }
+        return List.of(e.getClass());
+    }
+}
@@ -1,74 +1,257 @@
-//package com.yoshino.args;
-//
-//import org.junit.jupiter.api.Test;
-//
-//import java.util.Map;
-//
-//import static org.junit.jupiter.api.Assertions.*;
-//import static org.mockito.ArgumentMatchers.any;
-//import static org.mockito.Mockito.mock;
-//import static org.mockito.Mockito.when;
-//
-//public class ArgsTest {
-//
-//    @Test
-//    public void should_parse_multi_options() {
-//        MultiOptions options = Args.parse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
-//        assertTrue(options.logging());
-//        assertEquals(8080, options.port());
-//        assertEquals("/usr/logs", options.directory());
-//    }
-//
-//    record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
-//    }
-//
-//    @Test
-//    public void should_throw_illegal_option_exception_if_Annotation_not_present() {
-//        IllegalOptionException e = assertThrows(IllegalOptionException.class, () -> Args.parse(OptionsWithoutAnnotation.class, "-l", "-p", "8080", "-d", "/usr/logs"));
-//
-//        assertEquals("port", e.getParameter());
-//    }
-//
-//    record OptionsWithoutAnnotation(@Option("l") boolean logging, int port, @Option("d") String directory) {
-//    }
-//
-//    // sad path:
-//    // - bool -l t / -l tf
-//    // - int -p/ -p 8080 8081
-//    // - string -d/ -d /usr/logs /usr/vars
-//    // default value
-//    // - bool : false
-//    // - int : 0
-//    // - string : ""
-//
-//
-//    @Test
-//    public void should_example_2() {
-//        ListOptions options = Args.parse(ListOptions.class, "-g", "this", "is", "a", "list", "-d", "1", "2", "-3", "5");
-//
-//        assertArrayEquals(new String[]{"this", "is", "a", "list"}, options.group());
-//        assertArrayEquals(new Integer[]{1, 2, -3, 5}, options.decimals());
-//    }
-//
-//    record ListOptions(@Option("g") String[] group, @Option("d") Integer[] decimals) {
-//    }
-//
-//
-//    @Test
-//    public void should_parse_options_if_option_parser_provided() {
-//        OptionParser boolParser = mock(OptionParser.class);
-//        OptionParser intParser = mock(OptionParser.class);
-//        OptionParser stringParser = mock(OptionParser.class);
-//
-//        when(boolParser.parse(any(), any())).thenReturn(true);
-//        when(intParser.parse(any(), any())).thenReturn(1000);
-//        when(stringParser.parse(any(), any())).thenReturn("parsed");
-//
-//        Args<MultiOptions> args = new Args<>(MultiOptions.class, Map.of(boolean.class, boolParser, int.class, intParser, String.class, stringParser));
-//
-//        MultiOptions options = args.parse("-l", "-p", "8080", "-d", "/usr/logs");
-//        assertTrue(options.logging());
-//        assertEquals(1000, options.port());
-//        assertEquals("parsed", options.directory());
-//    }
-//}
+package com.yoshino.args;
+
+import com.yoshino.args.exceptions.IllegalValueException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArgsTest {
+
+    @Test
+    public void should_parse_multi_options() {
+        MultiOptions options = Args.parse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertEquals("/usr/logs", options.directory());
+    }
+
+    @Test
+    public void should_parse_same_options_class_repeatedly() {
+        MultiOptions first = Args.parse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+        MultiOptions second = Args.parse(MultiOptions.class, "-p", "8081");
+
+        assertEquals(new MultiOptions(true, 8080, "/usr/logs"), first);
+        assertEquals(new MultiOptions(false, 8081, ""), second);
+    }
+
+    record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    }
+
+    @Test
+    public void should_parse_options_named_with_digits_and_dashes() {
+        NamedOptions options = Args.parse(NamedOptions.class, "-p2", "8081", "-log-dir", "/usr/logs");
+
+        assertEquals(new NamedOptions(8081, "/usr/logs"), options);
+        assertEquals(options, Args.parser(NamedOptions.class).parse("-p2", "8081", "-log-dir", "/usr/logs").get());
+    }
+
+    record NamedOptions(@Option("p2") int port, @Option("log-dir") String directory) {
+    }
+
+    @Test
+    public void should_throw_parsing_exceptions_unwrapped() {
+        assertThrows(TooManyArgumentsException.class, () -> Args.parse(MultiOptions.class, "-p", "8080", "8081"));
+        assertThrows(InsufficientArgumentsException.class, () -> Args.parse(MultiOptions.class, "-d"));
+        IllegalValueException e = assertThrows(IllegalValueException.class, () -> Args.parse(MultiOptions.class, "-p", "x"));
+
+        assertEquals("x", e.getValue());
+    }
+
+    @Test
+    public void should_throw_illegal_option_exception_if_Annotation_not_present() {
+        IllegalOptionException e = assertThrows(IllegalOptionException.class, () -> Args.parse(OptionsWithoutAnnotation.class, "-l", "-p", "8080", "-d", "/usr/logs"));
+
+        assertEquals("port", e.getParameter());
+    }
+
+    record OptionsWithoutAnnotation(@Option("l") boolean logging, int port, @Option("d") String directory) {
+    }
+
+    // sad path:
+    // - bool -l t / -l tf
+    // - int -p/ -p 8080 8081
+    // - string -d/ -d /usr/logs /usr/vars
+    // default value
+    // - bool : false
+    // - int : 0
+    // - string : ""
+
+
+    @Test
+    public void should_example_2() {
+        ListOptions options = Args.parse(ListOptions.class, "-g", "this", "is", "a", "list", "-d", "1", "2", "-3", "5");
+
+        assertArrayEquals(new String[]{"this", "is", "a", "list"}, options.group());
+        assertArrayEquals(new Integer[]{1, 2, -3, 5}, options.decimals());
+    }
+
+    record ListOptions(@Option("g") String[] group, @Option("d") Integer[] decimals) {
+    }
+
+    @Test
+    public void should_parse_primitive_list_options() {
+        PrimitiveListOptions options = Args.parse(PrimitiveListOptions.class, "-i", "1", "-2", "-l", "3", "-d", "0.5");
+
+        assertArrayEquals(new int[]{1, -2}, options.ids());
+        assertArrayEquals(new long[]{3}, options.longs());
+        assertArrayEquals(new double[]{0.5}, options.doubles());
+    }
+
+    @Test
+    public void should_take_scalar_option_from_source_whole() {
+        OptionSources sources = new OptionSources().environment(Map.of("D", "/usr/my logs"), "");
+
+        assertEquals(new MultiOptions(false, 0, "/usr/my logs"), Args.parse(MultiOptions.class, sources));
+    }
+
+    @Test
+    public void should_read_dashed_option_from_environment_variable_with_underscores() {
+        OptionSources sources = new OptionSources().environment(Map.of("APP_LOG_DIR", "/usr/logs"), "APP_");
+
+        assertEquals(new NamedOptions(0, "/usr/logs"), Args.parse(NamedOptions.class, sources));
+    }
+
+    @Test
+    public void should_name_environment_variables_independent_of_locale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            OptionSources sources = new OptionSources().environment(Map.of("I", "1 2"), "");
+
+            assertArrayEquals(new int[]{1, 2}, Args.parse(PrimitiveListOptions.class, sources).ids());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void should_throw_exception_if_properties_source_not_readable(@TempDir Path directory) {
+        Path file = directory.resolve("missing.properties");
+
+        IllegalOptionSourceException e = assertThrows(IllegalOptionSourceException.class, () -> new OptionSources().properties(file, ""));
+
+        assertEquals(file.toString(), e.getSource());
+    }
+
+    @Test
+    public void should_parse_options_from_arguments_file(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("ids"), "-i 1 2\n3 -d 0.5");
+
+        PrimitiveListOptions options = Args.parse(PrimitiveListOptions.class, "@" + file, "-l", "4");
+
+        assertArrayEquals(new int[]{1, 2, 3}, options.ids());
+        assertArrayEquals(new long[]{4}, options.longs());
+        assertArrayEquals(new double[]{0.5}, options.doubles());
+    }
+
+    record PrimitiveListOptions(@Option("i") int[] ids, @Option("l") long[] longs, @Option("d") double[] doubles) {
+    }
+
+    @Test
+    public void should_parse_options_interface_lazily() {
+        LazyOptions options = Args.parse(LazyOptions.class, "-l", "-p", "8080", "-i", "1", "x");
+
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertEquals("", options.directory());
+        assertEquals(8081, options.nextPort());
+        assertSame(options.group(), options.group());
+    }
+
+    @Test
+    public void should_throw_illegal_value_exception_when_option_of_interface_accessed() {
+        LazyOptions options = Args.parse(LazyOptions.class, "-p", "8080", "-i", "1", "x");
+
+        assertEquals(8080, options.port());
+        IllegalValueException e = assertThrows(IllegalValueException.class, options::ids);
+        assertEquals("i", e.getOption());
+        assertEquals("x", e.getValue());
+    }
+
+    @Test
+    public void should_throw_illegal_option_exception_if_annotation_not_present_on_interface() {
+        IllegalOptionException e = assertThrows(IllegalOptionException.class, () -> Args.parse(InterfaceWithoutAnnotation.class, "-l"));
+
+        assertEquals("port", e.getParameter());
+    }
+
+    interface LazyOptions {
+        @Option("l")
+        boolean logging();
+
+        @Option("p")
+        int port();
+
+        @Option("d")
+        String directory();
+
+        @Option("g")
+        String[] group();
+
+        @Option("i")
+        int[] ids();
+
+        default int nextPort() {
+            return port() + 1;
+        }
+    }
+
+    interface InterfaceWithoutAnnotation {
+        @Option("l")
+        boolean logging();
+
+        int port();
+    }
+
+    @Test
+    public void should_take_options_missing_from_command_line_from_sources() {
+        Properties properties = new Properties();
+        properties.setProperty("app.p", "8080");
+        properties.setProperty("app.d", "/var/logs");
+        OptionSources sources = new OptionSources()
+            .environment(Map.of("APP_L", "true", "APP_P", "9090"), "APP_")
+            .properties(properties, "app.");
+
+        MultiOptions options = Args.parse(MultiOptions.class, sources, "-d", "/usr/logs");
+
+        assertEquals(new MultiOptions(true, 9090, "/usr/logs"), options);
+    }
+
+    @Test
+    public void should_use_default_value_if_option_not_in_any_source() {
+        OptionSources sources = new OptionSources().environment(Map.of("L", "false"), "");
+
+        assertEquals(new MultiOptions(false, 0, ""), Args.parse(MultiOptions.class, sources));
+    }
+
+    @Test
+    public void should_split_list_option_from_source_on_whitespace(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("app.properties"), "i=1 2  3\nd=0.5\n");
+
+        PrimitiveListOptions options = new Args<>(PrimitiveListOptions.class, new OptionSources().properties(file, "")).parse("-l", "4");
+
+        assertArrayEquals(new int[]{1, 2, 3}, options.ids());
+        assertArrayEquals(new long[]{4}, options.longs());
+        assertArrayEquals(new double[]{0.5}, options.doubles());
+    }
+
+
+    @Test
+    public void should_parse_options_if_option_parser_provided() {
+        OptionParser boolParser = mock(OptionParser.class);
+        OptionParser intParser = mock(OptionParser.class);
+        OptionParser stringParser = mock(OptionParser.class);
+
+        when(boolParser.parse(any(Arguments.class), any())).thenReturn(true);
+        when(intParser.parse(any(Arguments.class), any())).thenReturn(1000);
+        when(stringParser.parse(any(Arguments.class), any())).thenReturn("parsed");
+
+        Args<MultiOptions> args = new Args<>(MultiOptions.class, Map.of(boolean.class, boolParser, int.class, intParser, String.class, stringParser));
+
+        MultiOptions options = args.parse("-l", "-p", "8080", "-d", "/usr/logs");
+        assertTrue(options.logging());
+        assertEquals(1000, options.port());
+        assertEquals("parsed", options.directory());
+    }
+}
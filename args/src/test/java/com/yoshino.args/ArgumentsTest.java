@@ -0,0 +1,128 @@
+package com.yoshino.args;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentsTest {
+
+    @Test
+    public void should_index_values_following_flag() {
+        Arguments arguments = Arguments.of("-l", "-p", "8080", "-g", "this", "is");
+
+        assertEquals(List.of(), arguments.values("l").get());
+        assertEquals(List.of("8080"), arguments.values("p").get());
+        assertEquals(List.of("this", "is"), arguments.values("g").get());
+    }
+
+    @Test
+    public void should_retrieve_empty_if_flag_not_present() {
+        assertTrue(Arguments.of("-l").values("p").isEmpty());
+    }
+
+    @Test
+    public void should_not_treat_negative_number_as_flag() {
+        assertEquals(List.of("-1", "-2"), Arguments.of("-d", "-1", "-2").values("d").get());
+    }
+
+    @Test
+    public void should_index_flag_with_digits_and_dashes() {
+        Arguments arguments = Arguments.of("-p2", "8081", "-log-dir", "/usr/logs", "-d", "-0.5");
+
+        assertEquals(List.of("8081"), arguments.values("p2").get());
+        assertEquals(List.of("/usr/logs"), arguments.values("log-dir").get());
+        assertEquals(List.of("-0.5"), arguments.values("d").get());
+    }
+
+    @Test
+    public void should_use_first_occurrence_of_repeated_flag() {
+        assertEquals(List.of("1"), Arguments.of("-d", "1", "-d", "2").values("d").get());
+    }
+
+    @Test
+    public void should_ignore_values_before_first_flag() {
+        assertEquals(List.of("8080"), Arguments.of("value", "-p", "8080").values("p").get());
+    }
+
+    @Nested
+    class ArgumentsFileTest {
+
+        @TempDir
+        Path directory;
+
+        private String file(String content) throws IOException {
+            Path file = Files.writeString(directory.resolve("args"), content);
+            return "@" + file;
+        }
+
+        @Test
+        public void should_expand_arguments_from_file() throws IOException {
+            Arguments arguments = Arguments.expand("-l", file("-p 8080\n-g this\tis\n"), "a", "list");
+
+            assertEquals(List.of(), arguments.values("l").get());
+            assertEquals(List.of("8080"), arguments.values("p").get());
+            assertEquals(List.of("this", "is", "a", "list"), arguments.values("g").get());
+        }
+
+        @Test
+        public void should_keep_whitespace_in_quoted_value() throws IOException {
+            Arguments arguments = Arguments.expand(file("-d \"/usr/my logs\" 'it is' a\"b c\"d"));
+
+            assertEquals(List.of("/usr/my logs", "it is", "ab cd"), arguments.values("d").get());
+        }
+
+        @Test
+        public void should_unescape_in_double_quoted_value() throws IOException {
+            Arguments arguments = Arguments.expand(file("-d \"say \\\"hi\\\"\" '\\n'"));
+
+            assertEquals(List.of("say \"hi\"", "\\n"), arguments.values("d").get());
+        }
+
+        @Test
+        public void should_not_treat_quoted_negative_number_as_flag() throws IOException {
+            Arguments arguments = Arguments.expand(file("-d -1 \"-2\" -x"));
+
+            assertEquals(List.of("-1", "-2"), arguments.values("d").get());
+            assertEquals(List.of(), arguments.values("x").get());
+        }
+
+        @Test
+        public void should_index_flag_with_digits_and_dashes_in_file() throws IOException {
+            Arguments arguments = Arguments.expand(file("-p2 8081 -log-dir /usr/logs -d -1"));
+
+            assertEquals(List.of("8081"), arguments.values("p2").get());
+            assertEquals(List.of("/usr/logs"), arguments.values("log-dir").get());
+            assertEquals(List.of("-1"), arguments.values("d").get());
+        }
+
+        @Test
+        public void should_keep_escaped_at_sign_as_literal() {
+            assertEquals(List.of("@alice"), Arguments.expand("-u", "@@alice").values("u").get());
+        }
+
+        @Test
+        public void should_expand_empty_file() throws IOException {
+            assertEquals(List.of("8080"), Arguments.expand(file(""), "-p", "8080").values("p").get());
+        }
+
+        @Test
+        public void should_throw_exception_if_quote_not_closed() throws IOException {
+            String file = file("-d \"/usr/logs");
+
+            IllegalArgumentsFileException e = assertThrows(IllegalArgumentsFileException.class, () -> Arguments.expand(file));
+            assertEquals(file.substring(1), e.getFile());
+        }
+
+        @Test
+        public void should_throw_exception_if_file_not_exist() {
+            assertThrows(IllegalArgumentsFileException.class, () -> Arguments.expand("@" + directory.resolve("missing")));
+        }
+    }
+}
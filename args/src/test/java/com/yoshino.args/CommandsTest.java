@@ -0,0 +1,55 @@
+package com.yoshino.args;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandsTest {
+
+    record StartOptions(@Option("p") int port) {
+    }
+
+    record RemoteOptions(@Option("v") boolean verbose) {
+    }
+
+    record RemoteAddOptions(@Option("n") String name, @Option("u") String url) {
+    }
+
+    record UnsupportedOptions(@Option("o") Object value) {
+    }
+
+    private final Commands commands = new Commands()
+        .command("start", StartOptions.class)
+        .command("remote", RemoteOptions.class)
+        .command("remote add", RemoteAddOptions.class)
+        .command("broken", UnsupportedOptions.class);
+
+    @Test
+    public void should_parse_options_of_command() {
+        assertEquals(new StartOptions(8080), commands.parse("start", "-p", "8080"));
+    }
+
+    @Test
+    public void should_route_to_longest_matching_command() {
+        assertEquals(new RemoteAddOptions("origin", "/repo"), commands.parse("remote", "add", "-n", "origin", "-u", "/repo"));
+        assertEquals(new RemoteOptions(true), commands.parse("remote", "-v"));
+    }
+
+    @Test
+    public void should_not_compile_options_of_commands_not_selected() {
+        assertEquals(new StartOptions(0), commands.parse("start"));
+        assertThrows(UnsupportedOptionTypeException.class, () -> commands.parse("broken"));
+    }
+
+    @Test
+    public void should_throw_unknown_command_exception_if_no_command_matched() {
+        UnknownCommandException e = assertThrows(UnknownCommandException.class, () -> commands.parse("stop", "-p", "8080"));
+
+        assertEquals("stop", e.getCommand());
+    }
+
+    @Test
+    public void should_not_register_command_twice() {
+        assertThrows(IllegalArgumentException.class, () -> commands.command("remote  add", RemoteAddOptions.class));
+    }
+}
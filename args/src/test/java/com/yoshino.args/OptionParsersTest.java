@@ -1,150 +1,222 @@
-//package com.yoshino.args;
-//
-//import com.yoshino.args.exceptions.IllegalValueException;
-//import org.junit.jupiter.api.Nested;
-//import org.junit.jupiter.api.Test;
-//import org.junit.jupiter.params.ParameterizedTest;
-//import org.junit.jupiter.params.provider.ValueSource;
-//import org.mockito.InOrder;
-//import org.mockito.Mockito;
-//
-//import java.lang.annotation.Annotation;
-//import java.util.List;
-//import java.util.function.Function;
-//
-//import static java.util.Arrays.asList;
-//import static org.junit.jupiter.api.Assertions.*;
-//import static org.mockito.Mockito.*;
-//
-//class OptionParsersTest {
-//
-//    @Nested
-//    class UnaryOptionParserTest {
-//
-//        @Test //sad path
-//        public void should_not_accept_extra_argument_for_int_option() {
-//            TooManyArgumentsException e = assertThrows(TooManyArgumentsException.class, () -> {
-//                OptionParsers.unary(0, Integer::parseInt).parse(asList("-p", "8080", "8081"), option("p"));
-//            });
-//
-//            assertEquals("p", e.getOption());
-//        }
-//
-//        @ParameterizedTest // sad path
-//        @ValueSource(strings = {"-p -l", "-p"})
-//        public void should_not_accept_insufficient_argument_for_single_valued_option(String arguments) {
-//            InsufficientArgumentsException e = assertThrows(InsufficientArgumentsException.class, () -> {
-//                OptionParsers.unary(0, Integer::parseInt).parse(asList(arguments.split(" ")), option("p"));
-//            });
-//
-//            assertEquals("p", e.getOption());
-//        }
-//
-//        @Test // default value
-//        public void should_set_default_value_to_0_for_int_option() {
-//            Function<String, Object> whatever = (it) -> null;
-//            Object defaultValue = new Object();
-//            assertSame(defaultValue, OptionParsers.unary(defaultValue, whatever).parse(asList(), option("p")));
-//        }
-//
-//        @Test
-//        public void should_set_default_value_to_empty_for_int_option() {
-//            Object parsed = new Object();
-//            Function<String, Object> parser = (it) -> parsed;
-//            Object whatever = new Object();
-//            assertEquals(parsed, OptionParsers.unary(whatever, parser).parse(asList("-p", "8080"), option("p")));
-//        }
-//
-//        @Test
-//        public void should_set_default_value_to_empty_for_int_option_by_behavior_verification() {
-//            Function parser = mock(Function.class);
-//
-//            // exercise
-//            OptionParsers.unary(any(), parser).parse(asList("-p", "8080"), option("p"));
-//
-//            // verify
-//            verify(parser).apply("8080");
-//        }
-//    }
-//
-//    @Nested
-//    class BooleanOptionParserTest {
-//        @Test // sad path:
-//        public void should_not_accept_extra_argument_for_boolean_option() {
-//            TooManyArgumentsException e = assertThrows(TooManyArgumentsException.class, () -> {
-//                OptionParsers.bool().parse(asList("-l", "t"), option("l"));
-//            });
-//
-//            assertEquals("l", e.getOption());
-//        }
-//
-//        @Test // default value
-//        public void should_set_default_value_to_false_if_option_not_present() {
-//            assertFalse(OptionParsers.bool().parse(List.of(), option("l")));
-//        }
-//
-//        @Test // happy path
-//        public void should_set_default_value_to_true_if_option_present() {
-//            assertTrue(OptionParsers.bool().parse(List.of("-l"), option("l")));
-//        }
-//
-//
-//    }
-//
-//    @Nested
-//    class ListOptionParserTest {
-//        @Test
-//        public void should_parse_list_value() {
-//            assertArrayEquals(new String[]{"this", "is"}, OptionParsers.list(String[]::new, String::valueOf).parse(asList("-g", "this", "is"), option("g")));
-//        }
-//        @Test
-//        public void should_parse_list_value_by_behavior_verification() {
-//            Function parser = mock(Function.class);
-//
-//            OptionParsers.list(Object[]::new, parser).parse(asList("-g", "this", "is"), option("g"));
-//
-//            InOrder order = inOrder(parser, parser);
-//            order.verify(parser).apply("this");
-//            order.verify(parser).apply("is");
-//        }
-//
-//        @Test
-//        public void should_use_empty_array_as_default_value() {
-//            assertEquals(0, OptionParsers.list(String[]::new, String::valueOf).parse(asList(), option("g")).length);
-//        }
-//
-//        @Test
-//        public void should_not_treat_negative_int_as_flag() {
-//            assertArrayEquals(new Integer[]{-1, -2}, OptionParsers.list(Integer[]::new, Integer::parseInt).parse(asList("-d", "-1", "-2"), option("d")));
-//        }
-//
-//        @Test
-//        public void should_throw_exception_if_value_parser_cant_parse_value() {
-//            Function<String, String> parser = (it) -> {
-//                throw new RuntimeException();
-//            };
-//            IllegalValueException e = assertThrows(IllegalValueException.class, () -> {
-//                OptionParsers.list(String[]::new, parser).parse(asList("-g", "this", "is"), option("g"));
-//            });
-//            assertEquals("g", e.getOption());
-//            assertEquals("this", e.getValue());
-//
-//        }
-//    }
-//
-//
-//    static Option option(String value) {
-//        return new Option() {
-//
-//            @Override
-//            public Class<? extends Annotation> annotationType() {
-//                return Option.class;
-//            }
-//
-//            @Override
-//            public String value() {
-//                return value;
-//            }
-//        };
-//    }
-//}
\ No newline at end of file
+package com.yoshino.args;
+
+import com.yoshino.args.exceptions.IllegalValueException;
+import com.yoshino.args.exceptions.IllegalValuesException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OptionParsersTest {
+
+    @Nested
+    class UnaryOptionParserTest {
+
+        @Test //sad path
+        public void should_not_accept_extra_argument_for_int_option() {
+            TooManyArgumentsException e = assertThrows(TooManyArgumentsException.class, () -> {
+                OptionParsers.unary(0, Integer::parseInt).parse(asList("-p", "8080", "8081"), option("p"));
+            });
+
+            assertEquals("p", e.getOption());
+        }
+
+        @ParameterizedTest // sad path
+        @ValueSource(strings = {"-p -l", "-p"})
+        public void should_not_accept_insufficient_argument_for_single_valued_option(String arguments) {
+            InsufficientArgumentsException e = assertThrows(InsufficientArgumentsException.class, () -> {
+                OptionParsers.unary(0, Integer::parseInt).parse(asList(arguments.split(" ")), option("p"));
+            });
+
+            assertEquals("p", e.getOption());
+        }
+
+        @Test // default value
+        public void should_set_default_value_to_0_for_int_option() {
+            Function<String, Object> whatever = (it) -> null;
+            Object defaultValue = new Object();
+            assertSame(defaultValue, OptionParsers.unary(defaultValue, whatever).parse(asList(), option("p")));
+        }
+
+        @Test
+        public void should_set_default_value_to_empty_for_int_option() {
+            Object parsed = new Object();
+            Function<String, Object> parser = (it) -> parsed;
+            Object whatever = new Object();
+            assertEquals(parsed, OptionParsers.unary(whatever, parser).parse(asList("-p", "8080"), option("p")));
+        }
+
+        @Test
+        public void should_set_default_value_to_empty_for_int_option_by_behavior_verification() {
+            Function parser = mock(Function.class);
+
+            // exercise
+            OptionParsers.unary(any(), parser).parse(asList("-p", "8080"), option("p"));
+
+            // verify
+            verify(parser).apply("8080");
+        }
+    }
+
+    @Nested
+    class BooleanOptionParserTest {
+        @Test // sad path:
+        public void should_not_accept_extra_argument_for_boolean_option() {
+            TooManyArgumentsException e = assertThrows(TooManyArgumentsException.class, () -> {
+                OptionParsers.bool().parse(asList("-l", "t"), option("l"));
+            });
+
+            assertEquals("l", e.getOption());
+        }
+
+        @Test // default value
+        public void should_set_default_value_to_false_if_option_not_present() {
+            assertFalse(OptionParsers.bool().parse(List.of(), option("l")));
+        }
+
+        @Test // happy path
+        public void should_set_default_value_to_true_if_option_present() {
+            assertTrue(OptionParsers.bool().parse(List.of("-l"), option("l")));
+        }
+
+
+    }
+
+    @Nested
+    class ListOptionParserTest {
+        @Test
+        public void should_parse_list_value() {
+            assertArrayEquals(new String[]{"this", "is"}, OptionParsers.list(String[]::new, String::valueOf).parse(asList("-g", "this", "is"), option("g")));
+        }
+        @Test
+        public void should_parse_list_value_by_behavior_verification() {
+            Function parser = mock(Function.class);
+
+            OptionParsers.list(Object[]::new, parser).parse(asList("-g", "this", "is"), option("g"));
+
+            InOrder order = inOrder(parser, parser);
+            order.verify(parser).apply("this");
+            order.verify(parser).apply("is");
+        }
+
+        @Test
+        public void should_use_empty_array_as_default_value() {
+            assertEquals(0, OptionParsers.list(String[]::new, String::valueOf).parse(asList(), option("g")).length);
+        }
+
+        @Test
+        public void should_not_treat_negative_int_as_flag() {
+            assertArrayEquals(new Integer[]{-1, -2}, OptionParsers.list(Integer[]::new, Integer::parseInt).parse(asList("-d", "-1", "-2"), option("d")));
+        }
+
+        @Test
+        public void should_throw_exception_if_value_parser_cant_parse_value() {
+            Function<String, String> parser = (it) -> {
+                throw new RuntimeException();
+            };
+            IllegalValueException e = assertThrows(IllegalValueException.class, () -> {
+                OptionParsers.list(String[]::new, parser).parse(asList("-g", "this", "is"), option("g"));
+            });
+            assertEquals("g", e.getOption());
+            assertEquals("this", e.getValue());
+
+        }
+    }
+
+    @Nested
+    class ParallelListOptionParserTest {
+        @Test
+        public void should_parse_list_value_below_threshold() {
+            assertArrayEquals(new Integer[]{1, -2}, OptionParsers.parallelList(Integer[]::new, Integer::parseInt, 10).parse(asList("-d", "1", "-2"), option("d")));
+        }
+
+        @Test
+        public void should_parse_list_value_above_threshold_in_order() {
+            String[] arguments = new String[1001];
+            arguments[0] = "-d";
+            for (int i = 1; i < arguments.length; i++) {
+                arguments[i] = String.valueOf(i);
+            }
+
+            Integer[] values = OptionParsers.parallelList(Integer[]::new, Integer::parseInt, 10).parse(asList(arguments), option("d"));
+
+            assertEquals(1000, values.length);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(i + 1, values[i]);
+            }
+        }
+
+        @Test
+        public void should_use_empty_array_as_default_value() {
+            assertEquals(0, OptionParsers.parallelList(Integer[]::new, Integer::parseInt, 2).parse(asList(), option("d")).length);
+        }
+
+        @Test
+        public void should_report_every_illegal_value_in_order() {
+            IllegalValuesException e = assertThrows(IllegalValuesException.class, () -> {
+                OptionParsers.parallelList(Integer[]::new, Integer::parseInt, 2).parse(asList("-d", "a", "1", "b", "2", "c"), option("d"));
+            });
+            assertEquals("d", e.getOption());
+            assertEquals("a", e.getValue());
+            assertEquals(List.of("a", "b", "c"), e.getValues());
+        }
+    }
+
+    @Nested
+    class PrimitiveListOptionParserTest {
+        @Test
+        public void should_parse_int_list_value() {
+            assertArrayEquals(new int[]{1, -2, 3}, OptionParsers.intList().parse(asList("-d", "1", "-2", "3"), option("d")));
+        }
+
+        @Test
+        public void should_parse_long_list_value() {
+            assertArrayEquals(new long[]{1L, 8589934592L}, OptionParsers.longList().parse(asList("-d", "1", "8589934592"), option("d")));
+        }
+
+        @Test
+        public void should_parse_double_list_value() {
+            assertArrayEquals(new double[]{1.5, -2}, OptionParsers.doubleList().parse(asList("-d", "1.5", "-2"), option("d")));
+        }
+
+        @Test
+        public void should_use_empty_array_as_default_value() {
+            assertEquals(0, OptionParsers.intList().parse(asList(), option("d")).length);
+        }
+
+        @Test
+        public void should_throw_exception_if_value_cant_be_parsed() {
+            IllegalValueException e = assertThrows(IllegalValueException.class, () -> {
+                OptionParsers.intList().parse(asList("-d", "1", "8589934592"), option("d"));
+            });
+            assertEquals("d", e.getOption());
+            assertEquals("8589934592", e.getValue());
+        }
+    }
+
+
+    static Option option(String value) {
+        return new Option() {
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Option.class;
+            }
+
+            @Override
+            public String value() {
+                return value;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -1,11 +1,12 @@
 package yoshino.tdd.di;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 /**
  * @author xiaoyi
  * 2023/1/13 00:13
  * @since
  **/
-public record Component(Class<?> type, Annotation qualifier) {
+public record Component(Type type, Annotation qualifier) {
 }
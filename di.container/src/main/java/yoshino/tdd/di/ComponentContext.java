@@ -0,0 +1,60 @@
+package yoshino.tdd.di;
+
+import jakarta.inject.Provider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * immutable context over a validated snapshot of the bindings
+ *
+ * @author xiaoyi
+ * 2023/2/8 20:31
+ * @since
+ **/
+class ComponentContext implements Context {
+    /**
+     * refs of anonymous classes or dynamic qualifiers make new keys on every call, plans beyond this are not kept
+     */
+    private static final int MAX_PLANS = 256;
+
+    private final ComponentIndex index;
+    private final Map<List<ComponentRef<?>>, ResolutionPlan> plans = new ConcurrentHashMap<>();
+
+    ComponentContext(ComponentIndex index) {
+        this.index = index;
+    }
+
+    ComponentIndex index() {
+        return index;
+    }
+
+    @Override
+    public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef) {
+        if (componentRef.isContainer()) {
+            return (Optional<ComponentType>) index.provider(componentRef.component()).map(provider -> (Provider<Object>) () -> provider.get(this));
+        }
+        return index.provider(componentRef.component()).map(it -> (ComponentType) it.get(this));
+    }
+
+    @Override
+    public Object[] getAll(ComponentRef<?>... componentRefs) {
+        List<ComponentRef<?>> key = List.of(componentRefs);
+        ResolutionPlan plan = plans.get(key);
+        if (plan == null) {
+            plan = new ResolutionPlan(index, componentRefs);
+            if (plans.size() < MAX_PLANS) {
+                plans.putIfAbsent(key, plan);
+            }
+        }
+        return plan.resolve(this);
+    }
+
+    @Override
+    public Batch batch(ComponentRef<?>... componentRefs) {
+        ResolutionPlan plan = new ResolutionPlan(index, componentRefs);
+        return () -> plan.resolve(this);
+    }
+}
@@ -0,0 +1,87 @@
+package yoshino.tdd.di;
+
+import yoshino.tdd.di.exception.AmbiguousDependencyException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * assignability index over the bound components, built once when a context is created.
+ * concrete types resolve by an exact lookup, wildcard or bounded types are matched against the
+ * bindings sharing the same raw type and qualifier, and the result is remembered per injection point.
+ *
+ * @author xiaoyi
+ * 2023/2/5 15:46
+ * @since
+ **/
+class ComponentIndex {
+    private final Map<Component, ComponentProvider<?>> components;
+    private final Map<Component, List<Component>> candidates;
+    private final Map<Component, Optional<Component>> resolved = new ConcurrentHashMap<>();
+    private final Map<Component, Set<Component>> dependents = new HashMap<>();
+
+    ComponentIndex(Map<Component, ComponentProvider<?>> components) {
+        this.components = components;
+        this.candidates = components.keySet().stream().collect(Collectors.groupingBy(ComponentIndex::rawKey));
+        components.forEach((component, provider) -> {
+            for (ComponentRef<?> dependency : provider.getDependencies()) {
+                resolve(dependency.component()).ifPresent(it -> dependents.computeIfAbsent(it, k -> new HashSet<>()).add(component));
+                if (!Types.isConcrete(dependency.component().type())) {
+                    // a new binding of the same raw type may change what a wildcard resolves to
+                    dependents.computeIfAbsent(rawKey(dependency.component()), k -> new HashSet<>()).add(component);
+                }
+            }
+        });
+    }
+
+    Map<Component, ComponentProvider<?>> components() {
+        return components;
+    }
+
+    Optional<Component> resolve(Component component) {
+        if (components.containsKey(component)) {
+            return Optional.of(component);
+        }
+        if (Types.isConcrete(component.type())) {
+            return Optional.empty();
+        }
+        return resolved.computeIfAbsent(component, this::match);
+    }
+
+    Optional<ComponentProvider<?>> provider(Component component) {
+        return resolve(component).map(components::get);
+    }
+
+    /**
+     * the given components together with everything depending on them, directly or transitively
+     */
+    Set<Component> dependents(Collection<Component> changed) {
+        Set<Component> result = new HashSet<>(changed);
+        Deque<Component> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            Component component = queue.poll();
+            for (Component key : List.of(component, rawKey(component))) {
+                for (Component dependent : dependents.getOrDefault(key, Set.of())) {
+                    if (result.add(dependent)) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private Optional<Component> match(Component component) {
+        List<Component> matched = candidates.getOrDefault(rawKey(component), List.of()).stream()
+            .filter(it -> Types.matches(component.type(), it.type())).toList();
+        if (matched.size() > 1) {
+            throw new AmbiguousDependencyException(component, matched);
+        }
+        return matched.stream().findFirst();
+    }
+
+    private static Component rawKey(Component component) {
+        return new Component(Types.rawType(component.type()), component.qualifier());
+    }
+}
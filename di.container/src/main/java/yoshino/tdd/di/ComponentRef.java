@@ -1,5 +1,7 @@
 package yoshino.tdd.di;
 
+import jakarta.inject.Provider;
+
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -47,11 +49,11 @@ class ComponentRef<ComponentType> {
     }
 
     private void init(Type type, Annotation qualifier) {
-        if (type instanceof ParameterizedType container) {
+        if (type instanceof ParameterizedType container && container.getRawType() == Provider.class) {
             this.container = container.getRawType();
-            this.component = new Component((Class<ComponentType>) container.getActualTypeArguments()[0], qualifier);
+            this.component = new Component(container.getActualTypeArguments()[0], qualifier);
         } else {
-            this.component = new Component((Class<ComponentType>) type, qualifier);
+            this.component = new Component(type, qualifier);
         }
     }
 
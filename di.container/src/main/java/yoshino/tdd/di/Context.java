@@ -1,5 +1,6 @@
 package yoshino.tdd.di;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -11,4 +12,25 @@ public interface Context {
 
     <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef);
 
+    /**
+     * resolve a batch of components in one call, the result keeps the order of the given refs
+     * and holds null for the ones not bound
+     */
+    default Object[] getAll(ComponentRef<?>... componentRefs) {
+        return Arrays.stream(componentRefs).map(this::get).map(it -> it.orElse(null)).toArray();
+    }
+
+    /**
+     * same as {@link #getAll(ComponentRef[])}, with the resolution planned once and kept by the caller
+     * for refs resolved repeatedly
+     */
+    default Batch batch(ComponentRef<?>... componentRefs) {
+        ComponentRef<?>[] refs = componentRefs.clone();
+        return () -> getAll(refs);
+    }
+
+    interface Batch {
+        Object[] resolve();
+    }
+
 }
@@ -1,17 +1,25 @@
 package yoshino.tdd.di;
 
-import jakarta.inject.Provider;
 import jakarta.inject.Qualifier;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
 import yoshino.tdd.di.exception.CyclicDependenciesException;
 import yoshino.tdd.di.exception.DependencyNotFoundException;
+import yoshino.tdd.di.exception.DuplicatedComponentException;
 import yoshino.tdd.di.exception.IllegalComponentException;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -22,12 +30,31 @@ import java.util.stream.Stream;
  **/
 public class ContextConfig {
     private Map<Component, ComponentProvider<?>> components = new HashMap<>();
-    private Map<Class<?>, ScopeProvider> scopes = new HashMap<>();
+    private Map<Class<?>, ScopeProvider> scopes = new ConcurrentHashMap<>();
+    private Map<ComponentProvider<?>, Scoped> scoped = Collections.synchronizedMap(new IdentityHashMap<>());
+    private Registrations registrations;
 
     public ContextConfig() {
         scopes.put(Singleton.class, SingletonProvider::new);
     }
 
+    private ContextConfig(ContextConfig origin) {
+        this.components = new HashMap<>(origin.components);
+        this.scopes = new ConcurrentHashMap<>(origin.scopes);
+        this.scoped = Collections.synchronizedMap(new IdentityHashMap<>(origin.scoped));
+    }
+
+    /**
+     * allow {@code instance}, {@code component}, {@code scope} and {@code from} to be called from several threads.
+     * registrations are merged by {@link #getContext()}, which must run after the registering threads are done;
+     * binding the same component more than once then fails with a {@link DuplicatedComponentException}.
+     */
+    public void enableConcurrentRegistration() {
+        if (registrations == null) {
+            registrations = new Registrations();
+        }
+    }
+
     public <Type> void instance(Class<Type> type, Type instance) {
         bindInstance(type, instance, null);
     }
@@ -42,8 +69,21 @@ public class ContextConfig {
         }
     }
 
-    private void bindInstance(Class<?> type, Object instance, Annotation qualifier) {
-        components.put(new Component(type, qualifier), (ComponentProvider<?>) context -> instance);
+    public <Type> void instance(ComponentRef<Type> type, Type instance) {
+        bindInstance(bindingType(type), instance, null);
+    }
+
+    public <Type> void instance(ComponentRef<Type> type, Type instance, Annotation... qualifiers) {
+        if (Arrays.stream(qualifiers).anyMatch(q -> !q.annotationType().isAnnotationPresent(Qualifier.class))) {
+            throw new IllegalComponentException();
+        }
+        for (Annotation qualifier : qualifiers) {
+            bindInstance(bindingType(type), instance, qualifier);
+        }
+    }
+
+    private void bindInstance(Type type, Object instance, Annotation qualifier) {
+        register(new Component(type, qualifier), context -> instance);
     }
 
     public <Type, Implementation extends Type>
@@ -57,7 +97,25 @@ public class ContextConfig {
         bindComponent(type, implementation, annotations);
     }
 
-    private void bindComponent(Class<?> type, Class<?> implementation, Annotation... annotations) {
+    public <Type, Implementation extends Type>
+    void component(ComponentRef<Type> type, Class<Implementation> implementation) {
+        Annotation[] scopes = Arrays.stream(implementation.getAnnotations()).filter(a -> a.annotationType().isAnnotationPresent(Scope.class)).toArray(Annotation[]::new);
+        component(type, implementation, scopes);
+    }
+
+    public <Type, Implementation extends Type>
+    void component(ComponentRef<Type> type, Class<Implementation> implementation, Annotation... annotations) {
+        bindComponent(bindingType(type), implementation, annotations);
+    }
+
+    private static Type bindingType(ComponentRef<?> ref) {
+        if (ref.isContainer()) {
+            throw new IllegalComponentException();
+        }
+        return ref.component().type();
+    }
+
+    private void bindComponent(Type type, Class<?> implementation, Annotation... annotations) {
         Map<? extends Class<? extends Annotation>, List<Annotation>> annotationGroups = Arrays.stream(annotations).collect(Collectors.groupingBy(this::typeOf, Collectors.toList()));
 
         if (annotationGroups.containsKey(Illegal.class)) {
@@ -68,24 +126,34 @@ public class ContextConfig {
             createScopeProvider(implementation, annotationGroups.getOrDefault(Scope.class, List.of())));
     }
 
-    private <Type> void bind(Class<Type> type, List<Annotation> qualifiers, ComponentProvider<?> provider) {
+    private void bind(Type type, List<Annotation> qualifiers, ComponentProvider<?> provider) {
         if (qualifiers.isEmpty()) {
-            components.put(new Component(type, null), provider);
+            register(new Component(type, null), provider);
         }
         for (Annotation qualifier : qualifiers) {
-            components.put(new Component(type, qualifier), provider);
+            register(new Component(type, qualifier), provider);
         }
     }
 
-    public void from(Config config) {
-        new DSL(config).bind();
+    private void register(Component component, ComponentProvider<?> provider) {
+        if (registrations != null) {
+            registrations.put(component, provider);
+        } else {
+            components.put(component, provider);
+        }
+    }
+
+    public void from(Config... configs) {
+        for (Config config : configs) {
+            DSL.of(config.getClass()).bind(this, config);
+        }
     }
 
     private <Type> ComponentProvider<?> createScopeProvider(Class<Type> implementation, List<Annotation> scopes) {
         if (scopes.size() > 1) {
             throw new IllegalComponentException();
         }
-        InjectionProvider<?> injectionProvider = new InjectionProvider<>(implementation);
+        InjectionProvider<?> injectionProvider = InjectionProvider.of(implementation);
         return scopes.stream().findFirst().or(() -> scopeFrom(implementation)).<ComponentProvider<?>>map(s -> getScopeProvider(injectionProvider, s))
             .orElse(injectionProvider);
     }
@@ -106,7 +174,23 @@ public class ContextConfig {
         if (!scopes.containsKey(scope.annotationType())) {
             throw new IllegalComponentException();
         }
-        return scopes.get(scope.annotationType()).create(injectionProvider);
+        ScopeProvider scopeProvider = scopes.get(scope.annotationType());
+        ComponentProvider<?> provider = scopeProvider.create(injectionProvider);
+        scoped.put(provider, new Scoped(scopeProvider, injectionProvider));
+        return provider;
+    }
+
+    private record Scoped(ScopeProvider scope, ComponentProvider<?> provider) {
+    }
+
+    private ComponentProvider<?> renew(ComponentProvider<?> provider) {
+        Scoped origin = scoped.get(provider);
+        if (origin == null) {
+            return provider;
+        }
+        ComponentProvider<?> renewed = origin.scope().create(origin.provider());
+        scoped.put(renewed, origin);
+        return renewed;
     }
 
     public <ScopeType extends Annotation> void scope(Class<ScopeType> scope, ScopeProvider scopeProvider) {
@@ -114,70 +198,153 @@ public class ContextConfig {
     }
 
     public Context getContext() {
-        components.keySet().forEach(component -> checkDependencies(component, new Stack<>()));
-        return new Context() {
+        return snapshot();
+    }
 
-            @Override
-            public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef) {
-                if (componentRef.isContainer()) {
-                    if (componentRef.getContainer() != Provider.class) {
-                        return Optional.empty();
-                    }
-                    return (Optional<ComponentType>) Optional.ofNullable(components.get(componentRef.component())).map(provider -> (Provider<Object>) () -> provider.get(this));
-                }
-                return Optional.ofNullable(components.get(componentRef.component())).map(it -> (ComponentType) it.get(this));
+    public ReloadableContext getReloadableContext() {
+        return new ReloadableContext(this, snapshot());
+    }
+
+    private ComponentContext snapshot() {
+        mergeRegistrations();
+        ComponentIndex index = new ComponentIndex(Map.copyOf(components));
+        components.keySet().forEach(component -> checkDependencies(index, component, new Stack<>(), it -> true));
+        return new ComponentContext(index);
+    }
+
+    synchronized ComponentContext rebind(ComponentContext previous, Consumer<ContextConfig> changes) {
+        mergeRegistrations();
+        ContextConfig staging = new ContextConfig(this);
+        changes.accept(staging);
+
+        Map<Component, ComponentProvider<?>> published = previous.index().components();
+        Set<Component> changed = staging.components.keySet().stream()
+            .filter(component -> staging.components.get(component) != published.get(component)).collect(Collectors.toSet());
+        Set<Component> affected = previous.index().dependents(changed);
+
+        Map<ComponentProvider<?>, ComponentProvider<?>> renewed = new IdentityHashMap<>();
+        for (Component component : affected) {
+            if (!changed.contains(component)) {
+                staging.components.put(component, renewed.computeIfAbsent(staging.components.get(component), staging::renew));
             }
-        };
+        }
+
+        ComponentIndex index = new ComponentIndex(Map.copyOf(staging.components));
+        affected.forEach(component -> staging.checkDependencies(index, component, new Stack<>(), affected::contains));
+
+        components = staging.components;
+        scopes = staging.scopes;
+        scoped = staging.live();
+        return new ComponentContext(index);
     }
 
-    private void checkDependencies(Component component, Stack<Component> visiting) {
-        for (ComponentRef dependency : components.get(component).getDependencies()) {
-            if (!components.containsKey(dependency.component())) {
-                throw new DependencyNotFoundException(component, dependency.component());
+    /**
+     * scope records of the providers still bound, so renewed or rebound providers are dropped with their instances
+     */
+    private Map<ComponentProvider<?>, Scoped> live() {
+        Map<ComponentProvider<?>, Scoped> live = new IdentityHashMap<>();
+        for (ComponentProvider<?> provider : components.values()) {
+            Scoped origin = scoped.get(provider);
+            if (origin != null) {
+                live.put(provider, origin);
             }
-            if (!dependency.isContainer()) {
-                if (visiting.contains(dependency.component())) {
+        }
+        return Collections.synchronizedMap(live);
+    }
+
+    int scopedProviders() {
+        return scoped.size();
+    }
+
+    private void mergeRegistrations() {
+        if (registrations != null) {
+            registrations.mergeInto(components);
+        }
+    }
+
+    private void checkDependencies(ComponentIndex index, Component component, Stack<Component> visiting, Predicate<Component> revalidate) {
+        for (ComponentRef<?> dependency : components.get(component).getDependencies()) {
+            Component resolved = index.resolve(dependency.component())
+                .orElseThrow(() -> new DependencyNotFoundException(component, dependency.component()));
+            if (!dependency.isContainer() && revalidate.test(resolved)) {
+                if (visiting.contains(resolved)) {
                     throw new CyclicDependenciesException(visiting);
                 }
-                visiting.push(dependency.component());
-                checkDependencies(dependency.component(), visiting);
+                visiting.push(resolved);
+                checkDependencies(index, resolved, visiting, revalidate);
                 visiting.pop();
             }
         }
     }
 
-    private class DSL {
-        private Config config;
+    /**
+     * binding descriptor compiled once per config class, field values are read through method handles
+     */
+    private record DSL(List<FieldBinding> bindings) {
 
-        public DSL(Config config) {
-            this.config = config;
+        private static final ClassValue<DSL> compiled = new ClassValue<>() {
+            @Override
+            protected DSL computeValue(Class<?> type) {
+                return compile(type);
+            }
+        };
+
+        static DSL of(Class<? extends Config> type) {
+            return compiled.get(type);
         }
 
-        public void bind() {
-            try {
-                List<Field> fields = Arrays.stream(config.getClass().getDeclaredFields()).toList();
-                for (Field field : fields) {
-                    field.setAccessible(true);
-                    Object value = field.get(config);
-                    Class<?> type = Arrays.stream(field.getAnnotations()).filter(a -> a.annotationType() == Config.Export.class)
-                        .<Class<?>>map(a -> ((Config.Export) a).value()).findFirst()
-                        .orElse(field.getType());
-                    Annotation qualifier = Arrays.stream(field.getAnnotations()).filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class))
-                        .findFirst().orElse(null);
-                    if (value != null) {
-                        ContextConfig.this.bindInstance(type, value, qualifier);
-                    } else {
-                        if (qualifier == null) {
-                            ContextConfig.this.bindComponent(type, field.getType());
-                        } else {
-                            ContextConfig.this.bindComponent(type, field.getType(), qualifier);
-                        }
+        private static DSL compile(Class<?> type) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            List<FieldBinding> bindings = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isSynthetic()) {
+                    continue;
+                }
+                Type exported = field.getGenericType();
+                Annotation qualifier = null;
+                for (Annotation annotation : field.getAnnotations()) {
+                    if (annotation instanceof Config.Export export) {
+                        exported = export.value();
+                    } else if (qualifier == null && annotation.annotationType().isAnnotationPresent(Qualifier.class)) {
+                        qualifier = annotation;
                     }
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
+                try {
+                    field.setAccessible(true);
+                    MethodHandle getter = Modifier.isStatic(field.getModifiers())
+                        ? MethodHandles.dropArguments(lookup.unreflectGetter(field), 0, Object.class)
+                        : lookup.unreflectGetter(field);
+                    bindings.add(new FieldBinding(getter.asType(MethodType.methodType(Object.class, Object.class)), exported, field.getType(), qualifier));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalComponentException();
+                }
+            }
+            return new DSL(List.copyOf(bindings));
+        }
+
+        void bind(ContextConfig context, Config config) {
+            for (FieldBinding binding : bindings) {
+                binding.bind(context, config);
+            }
+        }
+    }
+
+    private record FieldBinding(MethodHandle getter, Type type, Class<?> implementation, Annotation qualifier) {
+
+        void bind(ContextConfig context, Config config) {
+            Object value;
+            try {
+                value = (Object) getter.invokeExact((Object) config);
+            } catch (Throwable e) {
                 throw new RuntimeException(e);
             }
+            if (value != null) {
+                context.bindInstance(type, value, qualifier);
+            } else if (qualifier == null) {
+                context.bindComponent(type, implementation);
+            } else {
+                context.bindComponent(type, implementation, qualifier);
+            }
         }
     }
 }
@@ -25,6 +25,20 @@ class InjectionProvider<T> implements ComponentProvider<T> {
     private Map<Class<?>, List<Injectable<Field>>> injectFields;
     private Collection<Class<?>> superClasses;
 
+    private static final ClassValue<InjectionProvider<?>> providers = new ClassValue<>() {
+        @Override
+        protected InjectionProvider<?> computeValue(Class<?> type) {
+            return new InjectionProvider<>(type);
+        }
+    };
+
+    /**
+     * injection metadata is immutable once resolved, so one provider is shared per component type
+     */
+    static <T> InjectionProvider<T> of(Class<T> componentType) {
+        return (InjectionProvider<T>) providers.get(componentType);
+    }
+
     public InjectionProvider(Class<T> componentType) {
         if (Modifier.isAbstract(componentType.getModifiers())) {
             throw new IllegalComponentException();
@@ -0,0 +1,52 @@
+package yoshino.tdd.di;
+
+import yoshino.tdd.di.exception.DuplicatedComponentException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * bindings registered from several threads, each thread writes to its own map and the maps are
+ * merged when the context is built. a component bound more than once is reported no matter which
+ * thread registered it first.
+ *
+ * @author xiaoyi
+ * 2023/2/11 14:36
+ * @since
+ **/
+class Registrations {
+    private final Queue<Map<Component, ComponentProvider<?>>> registered = new ConcurrentLinkedQueue<>();
+    private final Set<Component> duplicated = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Map<Component, ComponentProvider<?>>> local = ThreadLocal.withInitial(() -> {
+        Map<Component, ComponentProvider<?>> components = new HashMap<>();
+        registered.add(components);
+        return components;
+    });
+
+    void put(Component component, ComponentProvider<?> provider) {
+        if (local.get().put(component, provider) != null) {
+            duplicated.add(component);
+        }
+    }
+
+    /**
+     * must be called after the registering threads are done, e.g. once their tasks are joined
+     */
+    void mergeInto(Map<Component, ComponentProvider<?>> components) {
+        Set<Component> duplicated = new HashSet<>(this.duplicated);
+        Map<Component, ComponentProvider<?>> merged = new HashMap<>();
+        for (Map<Component, ComponentProvider<?>> registration : registered) {
+            registration.forEach((component, provider) -> {
+                if (components.containsKey(component) || merged.putIfAbsent(component, provider) != null) {
+                    duplicated.add(component);
+                }
+            });
+        }
+        if (!duplicated.isEmpty()) {
+            throw new DuplicatedComponentException(duplicated);
+        }
+        components.putAll(merged);
+        registered.forEach(Map::clear);
+    }
+}
@@ -0,0 +1,48 @@
+package yoshino.tdd.di;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * context whose bindings can be changed at runtime. every rebind publishes a new immutable snapshot,
+ * lookups already running keep the snapshot they started with.
+ *
+ * @author xiaoyi
+ * 2023/2/8 20:47
+ * @since
+ **/
+public class ReloadableContext implements Context {
+    private final ContextConfig config;
+    private volatile ComponentContext current;
+
+    ReloadableContext(ContextConfig config, ComponentContext current) {
+        this.config = config;
+        this.current = current;
+    }
+
+    @Override
+    public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef) {
+        return current.get(componentRef);
+    }
+
+    @Override
+    public Object[] getAll(ComponentRef<?>... componentRefs) {
+        return current.getAll(componentRefs);
+    }
+
+    /**
+     * the snapshot currently published, stays consistent across later rebinds
+     */
+    public Context snapshot() {
+        return current;
+    }
+
+    /**
+     * apply binding changes and publish the new snapshot. only the changed bindings and their dependents
+     * are revalidated and rebuilt, singletons outside that subgraph are shared with the previous snapshot.
+     * the published snapshot is left untouched if validation fails.
+     */
+    public synchronized void rebind(Consumer<ContextConfig> changes) {
+        current = config.rebind(current, changes);
+    }
+}
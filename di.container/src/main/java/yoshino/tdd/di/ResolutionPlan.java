@@ -0,0 +1,106 @@
+package yoshino.tdd.di;
+
+import jakarta.inject.Provider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * precomputed resolution of a batch of component refs. providers are looked up once when the plan
+ * is built, and refs resolving to the same singleton share one slot so it is only fetched once per batch.
+ *
+ * @author xiaoyi
+ * 2023/2/6 21:14
+ * @since
+ **/
+class ResolutionPlan {
+    private final ComponentProvider<?>[] providers;
+    private final boolean[] containers;
+    private final int[] slots;
+
+    ResolutionPlan(ComponentIndex index, ComponentRef<?>[] componentRefs) {
+        List<ComponentProvider<?>> providers = new ArrayList<>();
+        List<Boolean> containers = new ArrayList<>();
+        Map<ComponentRef<?>, Integer> shared = new HashMap<>();
+        this.slots = new int[componentRefs.length];
+
+        for (int i = 0; i < componentRefs.length; i++) {
+            ComponentRef<?> componentRef = componentRefs[i];
+            ComponentProvider<?> provider = index.provider(componentRef.component()).orElse(null);
+            boolean sharable = provider == null || provider instanceof SingletonProvider || componentRef.isContainer();
+            Integer slot = sharable ? shared.get(componentRef) : null;
+            if (slot == null) {
+                slot = providers.size();
+                providers.add(provider);
+                containers.add(componentRef.isContainer());
+                if (sharable) {
+                    shared.put(componentRef, slot);
+                }
+            }
+            slots[i] = slot;
+        }
+
+        this.providers = providers.toArray(ComponentProvider<?>[]::new);
+        this.containers = new boolean[containers.size()];
+        for (int i = 0; i < this.containers.length; i++) {
+            this.containers[i] = containers.get(i);
+        }
+    }
+
+    Object[] resolve(ComponentContext context) {
+        BatchContext batch = new BatchContext(context);
+        Object[] values = new Object[providers.length];
+        for (int i = 0; i < providers.length; i++) {
+            ComponentProvider<?> provider = providers[i];
+            if (provider != null) {
+                values[i] = containers[i] ? (Provider<Object>) () -> provider.get(context) : batch.get(provider);
+            }
+        }
+        if (values.length == slots.length) {
+            return values;
+        }
+        Object[] result = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            result[i] = values[slots[i]];
+        }
+        return result;
+    }
+
+    /**
+     * context the batch is resolved in, every singleton reached through the graph is looked up once per batch
+     * however many components depend on it. providers handed out as dependencies resolve through the context itself
+     */
+    private static class BatchContext implements Context {
+        private final ComponentContext context;
+        private final Map<Component, Object> singletons = new HashMap<>();
+
+        BatchContext(ComponentContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> componentRef) {
+            if (componentRef.isContainer()) {
+                return context.get(componentRef);
+            }
+            Object singleton = singletons.get(componentRef.component());
+            if (singleton != null) {
+                return Optional.of((ComponentType) singleton);
+            }
+            return context.index().provider(componentRef.component()).map(provider -> {
+                Object instance = get(provider);
+                if (provider instanceof SingletonProvider) {
+                    singletons.put(componentRef.component(), instance);
+                }
+                return (ComponentType) instance;
+            });
+        }
+
+        Object get(ComponentProvider<?> provider) {
+            return provider.get(this);
+        }
+    }
+}
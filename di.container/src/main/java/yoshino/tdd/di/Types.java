@@ -0,0 +1,186 @@
+package yoshino.tdd.di;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * generic type helpers used to match injection points against bound component types
+ *
+ * @author xiaoyi
+ * 2023/2/5 15:20
+ * @since
+ **/
+final class Types {
+
+    private Types() {
+    }
+
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        if (type instanceof GenericArrayType array) {
+            return rawType(array.getGenericComponentType()).arrayType();
+        }
+        if (type instanceof WildcardType wildcard) {
+            return rawType(wildcard.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return rawType(variable.getBounds()[0]);
+        }
+        throw new IllegalArgumentException(String.valueOf(type));
+    }
+
+    /**
+     * a concrete type has no wildcard or type variable and can be resolved by an exact lookup
+     */
+    static boolean isConcrete(Type type) {
+        if (type instanceof Class<?>) {
+            return true;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return Arrays.stream(parameterized.getActualTypeArguments()).allMatch(Types::isConcrete);
+        }
+        if (type instanceof GenericArrayType array) {
+            return isConcrete(array.getGenericComponentType());
+        }
+        return false;
+    }
+
+    /**
+     * whether a component bound as {@code bound} satisfies an injection point declared as {@code required},
+     * both sharing the same raw type
+     */
+    static boolean matches(Type required, Type bound) {
+        if (required instanceof ParameterizedType requiredType && bound instanceof ParameterizedType boundType) {
+            return rawType(requiredType) == rawType(boundType) && argumentsMatch(requiredType, boundType);
+        }
+        return sameType(required, bound);
+    }
+
+    static boolean isAssignable(Type to, Type from) {
+        if (sameType(to, from)) {
+            return true;
+        }
+        if (to instanceof Class<?> clazz) {
+            return clazz.isAssignableFrom(rawType(from));
+        }
+        if (to instanceof ParameterizedType parameterized) {
+            return supertype(from, rawType(parameterized))
+                .filter(ParameterizedType.class::isInstance)
+                .map(it -> argumentsMatch(parameterized, (ParameterizedType) it))
+                .orElse(false);
+        }
+        if (to instanceof WildcardType || to instanceof TypeVariable<?>) {
+            return contains(to, from);
+        }
+        return rawType(to).isAssignableFrom(rawType(from));
+    }
+
+    private static boolean argumentsMatch(ParameterizedType required, ParameterizedType actual) {
+        Type[] requiredArguments = required.getActualTypeArguments();
+        Type[] actualArguments = actual.getActualTypeArguments();
+        if (requiredArguments.length != actualArguments.length) {
+            return false;
+        }
+        for (int i = 0; i < requiredArguments.length; i++) {
+            if (!contains(requiredArguments[i], actualArguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(Type argument, Type actual) {
+        if (argument instanceof WildcardType wildcard) {
+            return Arrays.stream(wildcard.getUpperBounds()).allMatch(upper -> isAssignable(upper, actual))
+                && Arrays.stream(wildcard.getLowerBounds()).allMatch(lower -> isAssignable(actual, lower));
+        }
+        if (argument instanceof TypeVariable<?> variable) {
+            return Arrays.stream(variable.getBounds()).allMatch(bound -> isAssignable(bound, actual));
+        }
+        return sameType(argument, actual);
+    }
+
+    private static boolean sameType(Type a, Type b) {
+        if (a instanceof ParameterizedType pa && b instanceof ParameterizedType pb) {
+            Type[] aArguments = pa.getActualTypeArguments();
+            Type[] bArguments = pb.getActualTypeArguments();
+            if (pa.getRawType() != pb.getRawType() || aArguments.length != bArguments.length) {
+                return false;
+            }
+            for (int i = 0; i < aArguments.length; i++) {
+                if (!sameType(aArguments[i], bArguments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof GenericArrayType aa && b instanceof GenericArrayType ab) {
+            return sameType(aa.getGenericComponentType(), ab.getGenericComponentType());
+        }
+        return Objects.equals(a, b);
+    }
+
+    private static Optional<Type> supertype(Type type, Class<?> target) {
+        Class<?> raw = rawType(type);
+        if (raw == target) {
+            return Optional.of(type);
+        }
+        if (!target.isAssignableFrom(raw)) {
+            return Optional.empty();
+        }
+        Map<TypeVariable<?>, Type> arguments = typeArguments(type);
+        return Stream.concat(Stream.ofNullable(raw.getGenericSuperclass()), Arrays.stream(raw.getGenericInterfaces()))
+            .map(it -> substitute(it, arguments))
+            .map(it -> supertype(it, target))
+            .flatMap(Optional::stream)
+            .findFirst();
+    }
+
+    private static Map<TypeVariable<?>, Type> typeArguments(Type type) {
+        Map<TypeVariable<?>, Type> arguments = new HashMap<>();
+        if (type instanceof ParameterizedType parameterized) {
+            TypeVariable<?>[] variables = rawType(parameterized).getTypeParameters();
+            Type[] actual = parameterized.getActualTypeArguments();
+            for (int i = 0; i < variables.length; i++) {
+                arguments.put(variables[i], actual[i]);
+            }
+        }
+        return arguments;
+    }
+
+    private static Type substitute(Type type, Map<TypeVariable<?>, Type> arguments) {
+        if (type instanceof TypeVariable<?> variable) {
+            return arguments.getOrDefault(variable, variable);
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            Type[] actual = Arrays.stream(parameterized.getActualTypeArguments()).map(it -> substitute(it, arguments)).toArray(Type[]::new);
+            return new Parameterized(parameterized.getRawType(), parameterized.getOwnerType(), actual);
+        }
+        return type;
+    }
+
+    private record Parameterized(Type getRawType, Type getOwnerType, Type[] getActualTypeArguments) implements ParameterizedType {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ParameterizedType other && getRawType.equals(other.getRawType())
+                && Objects.equals(getOwnerType, other.getOwnerType()) && Arrays.equals(getActualTypeArguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            // same rule as the jdk implementation, so both are interchangeable as keys
+            return Arrays.hashCode(getActualTypeArguments) ^ Objects.hashCode(getOwnerType) ^ getRawType.hashCode();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package yoshino.tdd.di.exception;
+
+import yoshino.tdd.di.Component;
+
+import java.util.List;
+
+/**
+ * @author xiaoyi
+ * 2023/2/5 16:02
+ * @since
+ **/
+public class AmbiguousDependencyException extends RuntimeException {
+
+    private Component dependency;
+    private List<Component> candidates;
+
+    public AmbiguousDependencyException(Component dependency, List<Component> candidates) {
+        this.dependency = dependency;
+        this.candidates = candidates;
+    }
+
+    public Component getDependency() {
+        return dependency;
+    }
+
+    public List<Component> getCandidates() {
+        return candidates;
+    }
+}
@@ -2,6 +2,7 @@ package yoshino.tdd.di.exception;
 
 import yoshino.tdd.di.Component;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
@@ -22,7 +23,7 @@ public class CyclicDependenciesException extends RuntimeException {
     }
 
 
-    public List<Class<?>> getComponents() {
+    public List<Type> getComponents() {
         return components.stream().map(Component::type).collect(Collectors.toList());
     }
 
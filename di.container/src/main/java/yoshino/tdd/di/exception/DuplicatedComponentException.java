@@ -0,0 +1,23 @@
+package yoshino.tdd.di.exception;
+
+import yoshino.tdd.di.Component;
+
+import java.util.Set;
+
+/**
+ * @author xiaoyi
+ * 2023/2/11 14:52
+ * @since
+ **/
+public class DuplicatedComponentException extends RuntimeException {
+
+    private Set<Component> components;
+
+    public DuplicatedComponentException(Set<Component> components) {
+        this.components = Set.copyOf(components);
+    }
+
+    public Set<Component> getComponents() {
+        return components;
+    }
+}
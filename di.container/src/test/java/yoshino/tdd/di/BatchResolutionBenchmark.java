@@ -0,0 +1,76 @@
+package yoshino.tdd.di;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compare {@link Context#getAll(ComponentRef[])} with the same refs resolved by individual {@link Context#get(ComponentRef)} calls
+ *
+ * @author xiaoyi
+ * 2023/2/6 22:03
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchResolutionBenchmark {
+
+    @Param({"8", "32", "128"})
+    int size;
+
+    Context context;
+    ComponentRef<?>[] componentRefs;
+
+    @Singleton
+    static class SharedDependency implements Dependency {
+    }
+
+    static class Handler implements TestComponent {
+        @Inject
+        public Handler(Dependency dependency) {
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ContextConfig config = new ContextConfig();
+        config.component(Dependency.class, SharedDependency.class);
+        componentRefs = new ComponentRef<?>[size];
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                componentRefs[i] = ComponentRef.of(Dependency.class);
+            } else {
+                NamedLiteral name = new NamedLiteral("handler" + i);
+                config.component(TestComponent.class, Handler.class, name);
+                componentRefs[i] = ComponentRef.of(TestComponent.class, name);
+            }
+        }
+        context = config.getContext();
+    }
+
+    @Benchmark
+    public void individual(Blackhole blackhole) {
+        for (ComponentRef<?> componentRef : componentRefs) {
+            blackhole.consume(context.get(componentRef).get());
+        }
+    }
+
+    @Benchmark
+    public Object[] batch() {
+        return context.getAll(componentRefs);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchResolutionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -8,14 +8,19 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import yoshino.tdd.di.exception.AmbiguousDependencyException;
 import yoshino.tdd.di.exception.CyclicDependenciesException;
 import yoshino.tdd.di.exception.DependencyNotFoundException;
+import yoshino.tdd.di.exception.DuplicatedComponentException;
 import yoshino.tdd.di.exception.IllegalComponentException;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -130,6 +135,86 @@ public class ContextTest {
             // todo provider
         }
 
+        @Nested
+        public class WithGenericType {
+
+            interface Person {
+            }
+
+            record Student() implements Person {
+            }
+
+            record Course() {
+            }
+
+            interface Repository<T> {
+            }
+
+            static class StudentRepository implements Repository<Student> {
+            }
+
+            static class CourseRepository implements Repository<Course> {
+            }
+
+            static class PersonService {
+                Repository<? extends Person> repository;
+
+                @Inject
+                public PersonService(Repository<? extends Person> repository) {
+                    this.repository = repository;
+                }
+            }
+
+            @Test
+            public void should_bind_same_raw_type_with_different_type_arguments() {
+                config.component(new ComponentRef<Repository<Student>>() {}, StudentRepository.class);
+                config.component(new ComponentRef<Repository<Course>>() {}, CourseRepository.class);
+
+                Context context = config.getContext();
+
+                assertTrue(context.get(new ComponentRef<Repository<Student>>() {}).get() instanceof StudentRepository);
+                assertTrue(context.get(new ComponentRef<Repository<Course>>() {}).get() instanceof CourseRepository);
+                assertTrue(context.get(ComponentRef.of(Repository.class)).isEmpty());
+            }
+
+            @Test
+            public void should_retrieve_generic_type_as_provider() {
+                Repository<Student> instance = new StudentRepository();
+                config.instance(new ComponentRef<Repository<Student>>() {}, instance);
+
+                Provider<Repository<Student>> provider = config.getContext().get(new ComponentRef<Provider<Repository<Student>>>() {}).get();
+
+                assertSame(instance, provider.get());
+            }
+
+            @Test
+            public void should_inject_dependency_matched_by_bounded_wildcard() {
+                config.component(new ComponentRef<Repository<Student>>() {}, StudentRepository.class);
+                config.component(new ComponentRef<Repository<Course>>() {}, CourseRepository.class);
+                config.component(PersonService.class, PersonService.class);
+
+                PersonService service = config.getContext().get(ComponentRef.of(PersonService.class)).get();
+
+                assertTrue(service.repository instanceof StudentRepository);
+            }
+
+            @Test
+            public void should_throw_exception_if_wildcard_dependency_not_matched() {
+                config.component(new ComponentRef<Repository<Course>>() {}, CourseRepository.class);
+                config.component(PersonService.class, PersonService.class);
+
+                assertThrows(DependencyNotFoundException.class, () -> config.getContext());
+            }
+
+            @Test
+            public void should_throw_exception_if_wildcard_dependency_is_ambiguous() {
+                config.component(new ComponentRef<Repository<Student>>() {}, StudentRepository.class);
+                config.component(new ComponentRef<Repository<Course>>() {}, CourseRepository.class);
+
+                assertThrows(AmbiguousDependencyException.class, () -> config.getContext().get(new ComponentRef<Repository<?>>() {}));
+            }
+        }
+
         @Nested
         public class WithScope {
 
@@ -222,6 +307,289 @@ public class ContextTest {
         }
     }
 
+    @Nested
+    class BatchResolution {
+
+        static class NotSingleton implements TestComponent {
+        }
+
+        @Singleton
+        static class SingletonDependency implements Dependency {
+        }
+
+        @Test
+        public void should_retrieve_components_in_given_order() {
+            Dependency dependency = new Dependency() {
+            };
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, NotSingleton.class);
+
+            Object[] components = config.getContext().getAll(ComponentRef.of(TestComponent.class), ComponentRef.of(Dependency.class));
+
+            assertEquals(2, components.length);
+            assertTrue(components[0] instanceof NotSingleton);
+            assertSame(dependency, components[1]);
+        }
+
+        @Test
+        public void should_retrieve_null_for_unbind_type() {
+            Object[] components = config.getContext().getAll(ComponentRef.of(TestComponent.class));
+
+            assertArrayEquals(new Object[]{null}, components);
+        }
+
+        @Test
+        public void should_retrieve_bind_type_as_provider() {
+            config.component(Dependency.class, SingletonDependency.class);
+
+            Context context = config.getContext();
+            Object[] components = context.getAll(new ComponentRef<Provider<Dependency>>() {}, ComponentRef.of(Dependency.class));
+
+            assertSame(components[1], ((Provider<?>) components[0]).get());
+        }
+
+        @Test
+        public void should_share_singleton_in_batch() {
+            config.component(Dependency.class, SingletonDependency.class);
+
+            Object[] components = config.getContext().getAll(ComponentRef.of(Dependency.class), ComponentRef.of(Dependency.class));
+
+            assertSame(components[0], components[1]);
+        }
+
+        static class DependentComponent implements TestComponent {
+            Dependency dependency;
+
+            @Inject
+            public DependentComponent(Dependency dependency) {
+                this.dependency = dependency;
+            }
+        }
+
+        @Test
+        public void should_share_transitive_singleton_dependency_in_batch() {
+            config.component(Dependency.class, SingletonDependency.class);
+            config.component(TestComponent.class, DependentComponent.class);
+
+            Object[] components = config.getContext().getAll(ComponentRef.of(TestComponent.class), ComponentRef.of(TestComponent.class), ComponentRef.of(Dependency.class));
+
+            assertNotSame(components[0], components[1]);
+            assertSame(components[2], ((DependentComponent) components[0]).dependency);
+            assertSame(components[2], ((DependentComponent) components[1]).dependency);
+        }
+
+        @Test
+        public void should_resolve_planned_batch_repeatedly() {
+            config.component(Dependency.class, SingletonDependency.class);
+            config.component(TestComponent.class, NotSingleton.class);
+
+            Context.Batch batch = config.getContext().batch(ComponentRef.of(TestComponent.class), ComponentRef.of(Dependency.class));
+            Object[] first = batch.resolve();
+            Object[] second = batch.resolve();
+
+            assertNotSame(first[0], second[0]);
+            assertTrue(second[0] instanceof NotSingleton);
+            assertSame(first[1], second[1]);
+        }
+
+        @Test
+        public void should_resolve_batches_of_dynamic_qualifiers() {
+            for (int i = 0; i < 300; i++) {
+                config.component(TestComponent.class, NotSingleton.class, new NamedLiteral("component" + i));
+            }
+
+            Context context = config.getContext();
+            for (int i = 0; i < 300; i++) {
+                assertTrue(context.getAll(ComponentRef.of(TestComponent.class, new NamedLiteral("component" + i)))[0] instanceof NotSingleton);
+            }
+        }
+
+        @Test
+        public void should_not_share_non_singleton_in_batch() {
+            config.component(TestComponent.class, NotSingleton.class);
+
+            Context context = config.getContext();
+            Object[] first = context.getAll(ComponentRef.of(TestComponent.class), ComponentRef.of(TestComponent.class));
+            Object[] second = context.getAll(ComponentRef.of(TestComponent.class), ComponentRef.of(TestComponent.class));
+
+            assertNotSame(first[0], first[1]);
+            assertNotSame(first[0], second[0]);
+        }
+    }
+
+    @Nested
+    class ConcurrentRegistration {
+
+        static class Implementation implements TestComponent {
+        }
+
+        @Test
+        public void should_merge_components_registered_from_multi_threads() throws Exception {
+            config.enableConcurrentRegistration();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = IntStream.range(0, 100).mapToObj(i -> executor.submit(() -> {
+                    if (i % 2 == 0) {
+                        config.component(TestComponent.class, Implementation.class, new NamedLiteral("component" + i));
+                    } else {
+                        config.instance(TestComponent.class, new Implementation(), new NamedLiteral("component" + i));
+                    }
+                })).collect(Collectors.toList());
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            Context context = config.getContext();
+
+            IntStream.range(0, 100).forEach(i -> assertTrue(context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("component" + i))).isPresent()));
+        }
+
+        @Test
+        public void should_throw_exception_if_same_component_registered_from_different_threads() throws Exception {
+            config.enableConcurrentRegistration();
+            Thread first = new Thread(() -> config.component(TestComponent.class, Implementation.class));
+            Thread second = new Thread(() -> config.instance(TestComponent.class, new Implementation()));
+            first.start();
+            second.start();
+            first.join();
+            second.join();
+
+            DuplicatedComponentException exception = assertThrows(DuplicatedComponentException.class, () -> config.getContext());
+            assertEquals(Set.of(new Component(TestComponent.class, null)), exception.getComponents());
+        }
+
+        @Test
+        public void should_throw_exception_if_same_component_registered_twice_in_one_thread() {
+            config.enableConcurrentRegistration();
+            config.component(TestComponent.class, Implementation.class);
+            config.component(TestComponent.class, Implementation.class);
+
+            assertThrows(DuplicatedComponentException.class, () -> config.getContext());
+        }
+
+        @Test
+        public void should_bind_configs_registered_from_multi_threads() throws Exception {
+            config.enableConcurrentRegistration();
+            Thread first = new Thread(() -> config.from(new Config() {
+                Implementation implementation;
+            }));
+            Thread second = new Thread(() -> config.from(new Config() {
+                @Export(TestComponent.class)
+                Implementation implementation;
+            }));
+            first.start();
+            second.start();
+            first.join();
+            second.join();
+
+            Context context = config.getContext();
+            assertTrue(context.get(ComponentRef.of(Implementation.class)).isPresent());
+            assertTrue(context.get(ComponentRef.of(TestComponent.class)).isPresent());
+        }
+    }
+
+    @Nested
+    class Reload {
+
+        static class Implementation implements TestComponent {
+        }
+
+        static class AnotherImplementation implements TestComponent {
+        }
+
+        @Test
+        public void should_retrieve_rebind_component() {
+            config.component(TestComponent.class, Implementation.class, new NamedLiteral("choseOne"));
+            ReloadableContext context = config.getReloadableContext();
+
+            context.rebind(it -> it.component(TestComponent.class, AnotherImplementation.class, new NamedLiteral("choseOne")));
+
+            assertTrue(context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("choseOne"))).get() instanceof AnotherImplementation);
+        }
+
+        @Test
+        public void should_keep_previous_snapshot_unchanged() {
+            config.component(TestComponent.class, Implementation.class);
+            ReloadableContext context = config.getReloadableContext();
+            Context snapshot = context.snapshot();
+
+            context.rebind(it -> it.component(TestComponent.class, AnotherImplementation.class));
+
+            assertTrue(snapshot.get(ComponentRef.of(TestComponent.class)).get() instanceof Implementation);
+            assertTrue(context.snapshot().get(ComponentRef.of(TestComponent.class)).get() instanceof AnotherImplementation);
+        }
+
+        @Test
+        public void should_share_singleton_not_affected_by_rebind() {
+            config.component(Dependency.class, DependencyWithDependencyInjected.class, new SingletonLiteral());
+            config.instance(String.class, "name");
+            config.component(TestComponent.class, Implementation.class);
+            ReloadableContext context = config.getReloadableContext();
+            Dependency dependency = context.get(ComponentRef.of(Dependency.class)).get();
+
+            context.rebind(it -> it.component(TestComponent.class, AnotherImplementation.class));
+
+            assertSame(dependency, context.get(ComponentRef.of(Dependency.class)).get());
+        }
+
+        @Test
+        public void should_renew_singleton_depending_on_rebind_component() {
+            Dependency dependency = new Dependency() {
+            };
+            Dependency another = new Dependency() {
+            };
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, ComponentWithDependencyInjectedConstructor.class, new SingletonLiteral());
+            ReloadableContext context = config.getReloadableContext();
+            ComponentWithDependencyInjectedConstructor before = (ComponentWithDependencyInjectedConstructor) context.get(ComponentRef.of(TestComponent.class)).get();
+
+            context.rebind(it -> it.instance(Dependency.class, another));
+
+            ComponentWithDependencyInjectedConstructor after = (ComponentWithDependencyInjectedConstructor) context.get(ComponentRef.of(TestComponent.class)).get();
+            assertSame(dependency, before.getDependency());
+            assertSame(another, after.getDependency());
+        }
+
+        @Test
+        public void should_release_replaced_scoped_providers_on_rebind() {
+            Dependency dependency = new Dependency() {
+            };
+            config.instance(Dependency.class, dependency);
+            config.component(TestComponent.class, ComponentWithDependencyInjectedConstructor.class, new SingletonLiteral());
+            ReloadableContext context = config.getReloadableContext();
+
+            for (int i = 0; i < 10; i++) {
+                context.rebind(it -> it.instance(Dependency.class, new Dependency() {
+                }));
+            }
+
+            assertEquals(1, config.scopedProviders());
+        }
+
+        @Test
+        public void should_not_publish_invalid_rebind() {
+            config.component(TestComponent.class, Implementation.class);
+            ReloadableContext context = config.getReloadableContext();
+
+            assertThrows(DependencyNotFoundException.class, () -> context.rebind(it -> it.component(TestComponent.class, ComponentWithDependencyInjectedConstructor.class)));
+            assertTrue(context.get(ComponentRef.of(TestComponent.class)).get() instanceof Implementation);
+        }
+
+        @Test
+        public void should_throw_exception_if_rebind_introduces_cyclic_dependencies() {
+            config.component(TestComponent.class, ComponentWithDependencyInjectedConstructor.class);
+            config.component(Dependency.class, DependencyDependedOnAnotherDependency.class);
+            config.instance(AnotherDependency.class, new AnotherDependency() {
+            });
+            ReloadableContext context = config.getReloadableContext();
+
+            assertThrows(CyclicDependenciesException.class, () -> context.rebind(it -> it.component(AnotherDependency.class, AnotherDependencyDependedOnComponent.class)));
+        }
+    }
+
     @Nested
     class DependencyCheck {
 
@@ -537,6 +905,41 @@ public class ContextTest {
             assertNotNull(component);
         }
 
+        static class InstanceConfig implements Config {
+            Implementation implementation;
+
+            InstanceConfig(Implementation implementation) {
+                this.implementation = implementation;
+            }
+        }
+
+        @Test
+        public void should_bind_instances_from_same_config_type() {
+            Implementation first = new Implementation();
+            Implementation second = new Implementation();
+
+            config.from(new InstanceConfig(first));
+            ContextConfig another = new ContextConfig();
+            another.from(new InstanceConfig(second));
+
+            assertSame(first, config.getContext().get(ComponentRef.of(Implementation.class)).get());
+            assertSame(second, another.getContext().get(ComponentRef.of(Implementation.class)).get());
+        }
+
+        @Test
+        public void should_bind_multi_configs_in_batch() {
+            Implementation instance = new Implementation();
+
+            config.from(new InstanceConfig(instance), new Config() {
+                @Export(Api.class)
+                Implementation implementation;
+            });
+
+            Context context = config.getContext();
+            assertSame(instance, context.get(ComponentRef.of(Implementation.class)).get());
+            assertNotNull(context.get(ComponentRef.of(Api.class)).get());
+        }
+
     }
 
 }
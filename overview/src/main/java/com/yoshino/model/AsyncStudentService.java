@@ -0,0 +1,73 @@
+package com.yoshino.model;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * non-blocking entry to the students, units of work run on a thread per task and at most {@code concurrency}
+ * of them hold a connection at a time, so it should match the connection pool size. tasks run on virtual threads
+ * where the runtime has them, and on a fixed pool of {@code concurrency} platform threads otherwise
+ *
+ * @author xiaoyi
+ * 2022/5/2 15:20
+ * @since
+ **/
+public class AsyncStudentService implements AutoCloseable {
+
+    private final StudentService service;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public AsyncStudentService(StudentService service, int concurrency) {
+        this(service, concurrency, threadPerTask(concurrency));
+    }
+
+    public AsyncStudentService(StudentService service, int concurrency, ExecutorService executor) {
+        this.service = service;
+        this.executor = executor;
+        this.permits = new Semaphore(concurrency);
+    }
+
+    public CompletableFuture<Student> save(Student student) {
+        return submit(() -> service.save(student));
+    }
+
+    public CompletableFuture<Optional<Student>> findById(long id) {
+        return submit(() -> service.findById(id));
+    }
+
+    public CompletableFuture<Optional<Student>> findByEmail(String email) {
+        return submit(() -> service.findByEmail(email));
+    }
+
+    private <R> CompletableFuture<R> submit(Supplier<R> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return work.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * the module compiles for Java 8, so the virtual thread executor of Java 21 is looked up at runtime
+     */
+    static ExecutorService threadPerTask(int concurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+}
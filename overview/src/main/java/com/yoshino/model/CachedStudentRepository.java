@@ -0,0 +1,50 @@
+package com.yoshino.model;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+/**
+ * read-through students repository, lookups are served from the shared cache and loaded on a miss.
+ * saved students are invalidated, so the cache never serves a student older than its last save
+ *
+ * @author xiaoyi
+ * 2022/4/24 15:48
+ * @since
+ **/
+public class CachedStudentRepository extends StudentRepository {
+
+    private final StudentCache cache;
+
+    public CachedStudentRepository(EntityManager manager, StudentCache cache) {
+        super(manager);
+        this.cache = cache;
+    }
+
+    @Override
+    public Student save(Student student) {
+        cache.invalidate(student);
+        return super.save(student);
+    }
+
+    @Override
+    public Optional<Student> findById(long id) {
+        Optional<Student> cached = cache.getById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Student> loaded = super.findById(id);
+        loaded.ifPresent(it -> cache.put(id, it));
+        return loaded;
+    }
+
+    @Override
+    public Optional<Student> findByEmail(String email) {
+        Optional<Student> cached = cache.getByEmail(email);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Student> loaded = super.findByEmail(email);
+        loaded.ifPresent(it -> cache.put(it.getId(), it));
+        return loaded;
+    }
+}
@@ -3,11 +3,25 @@ package com.yoshino.model;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "STUDENTS")
+@Table(name = "STUDENTS", indexes = @Index(name = "STUDENTS_EMAIL", columnList = "email", unique = true))
+@NamedQueries({
+    @NamedQuery(name = Student.FIND_BY_EMAIL, query = "select s from Student s where s.email = :email"),
+    @NamedQuery(name = Student.FIND_ALL, query = "select s from Student s order by s.id"),
+    @NamedQuery(name = Student.FIND_AFTER, query = "select s from Student s where s.id > :id order by s.id"),
+    @NamedQuery(name = Student.FIND_SUMMARIES, query = "select new com.yoshino.model.StudentSummary(s.firstName, s.lastName, s.email) from Student s order by s.id"),
+    @NamedQuery(name = Student.FIND_SUMMARY_BY_EMAIL, query = "select new com.yoshino.model.StudentSummary(s.firstName, s.lastName, s.email) from Student s where s.email = :email")
+})
 public class Student {
+    public static final String FIND_BY_EMAIL = "Student.findByEmail";
+    public static final String FIND_ALL = "Student.findAll";
+    public static final String FIND_AFTER = "Student.findAfter";
+    public static final String FIND_SUMMARIES = "Student.findSummaries";
+    public static final String FIND_SUMMARY_BY_EMAIL = "Student.findSummaryByEmail";
+
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_id")
+    @SequenceGenerator(name = "student_id", sequenceName = "STUDENT_ID_SEQ", allocationSize = StudentRepository.BATCH_SIZE)
     private long id;
 
     @Column(name = "first_name")
@@ -28,6 +42,15 @@ public class Student {
         this.email = email;
     }
 
+    /**
+     * a detached copy with the same id, not managed by any entity manager
+     */
+    Student copy() {
+        Student copy = new Student(firstName, lastName, email);
+        copy.id = id;
+        return copy;
+    }
+
     public long getId() {
         return id;
     }
@@ -0,0 +1,133 @@
+package com.yoshino.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * bounded students cache shared by repositories, safe for concurrent use.
+ * entries expire after the ttl and the oldest entries are evicted first once the cache is full,
+ * an email index points at the cached id so both lookups are served from the same entry.
+ * detached copies are cached, so a cached student is never one managed by a caller's entity manager
+ *
+ * @author xiaoyi
+ * 2022/4/24 15:12
+ * @since
+ **/
+public class StudentCache {
+
+    private final int maximumSize;
+    private final long ttl;
+    private final LongSupplier clock;
+
+    /**
+     * in insertion order, guarded by the cache together with the email index
+     */
+    private final Map<Long, Entry> students = new LinkedHashMap<>();
+    private final Map<String, Long> emails = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StudentCache(int maximumSize, long ttl, TimeUnit unit) {
+        this(maximumSize, unit.toNanos(ttl), System::nanoTime);
+    }
+
+    StudentCache(int maximumSize, long ttlNanos, LongSupplier clock) {
+        this.maximumSize = maximumSize;
+        this.ttl = ttlNanos;
+        this.clock = clock;
+    }
+
+    public Optional<Student> getById(long id) {
+        Student student;
+        synchronized (this) {
+            student = lookup(id);
+        }
+        return count(student);
+    }
+
+    public Optional<Student> getByEmail(String email) {
+        Student student;
+        synchronized (this) {
+            Long id = emails.get(email);
+            student = id == null ? null : lookup(id);
+        }
+        return count(student);
+    }
+
+    public void put(long id, Student student) {
+        Entry entry = new Entry(student.copy(), clock.getAsLong() + ttl);
+        synchronized (this) {
+            Entry replaced = students.put(id, entry);
+            if (replaced != null) {
+                emails.remove(replaced.student.getEmail(), id);
+            }
+            emails.put(student.getEmail(), id);
+            Iterator<Map.Entry<Long, Entry>> oldest = students.entrySet().iterator();
+            while (students.size() > maximumSize) {
+                Map.Entry<Long, Entry> evicted = oldest.next();
+                oldest.remove();
+                emails.remove(evicted.getValue().student.getEmail(), evicted.getKey());
+            }
+        }
+    }
+
+    public synchronized void invalidate(Student student) {
+        emails.remove(student.getEmail());
+        Entry entry = students.remove(student.getId());
+        if (entry != null) {
+            emails.remove(entry.student.getEmail(), student.getId());
+        }
+    }
+
+    public synchronized int size() {
+        return students.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Student lookup(long id) {
+        Entry entry = students.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt >= 0) {
+            if (students.remove(id, entry)) {
+                emails.remove(entry.student.getEmail(), id);
+            }
+            return null;
+        }
+        return entry.student;
+    }
+
+    private Optional<Student> count(Student student) {
+        if (student == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(student);
+    }
+
+    private static class Entry {
+        private final Student student;
+        private final long expiresAt;
+
+        Entry(Student student, long expiresAt) {
+            this.student = student;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
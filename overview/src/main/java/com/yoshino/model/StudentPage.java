@@ -0,0 +1,44 @@
+package com.yoshino.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * a page of students in id order, with the token continuing after its last student if there are more
+ *
+ * @author xiaoyi
+ * 2022/4/28 21:05
+ * @since
+ **/
+public class StudentPage {
+
+    private final List<Student> students;
+    private final String next;
+
+    StudentPage(List<Student> students, String next) {
+        this.students = students;
+        this.next = next;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public Optional<String> getNext() {
+        return Optional.ofNullable(next);
+    }
+
+    static String token(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long id(String token) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("illegal page token: " + token, e);
+        }
+    }
+}
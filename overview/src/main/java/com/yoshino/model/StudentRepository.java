@@ -1,18 +1,40 @@
 package com.yoshino.model;
 
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author xiaoyi
  */
 public class StudentRepository {
 
+    /**
+     * same as hibernate.jdbc.batch_size in persistence.xml and the allocation size of the student id sequence
+     */
+    static final int BATCH_SIZE = 50;
+
     private final EntityManager manager;
+    private final int batchSize;
 
     public StudentRepository(EntityManager manager) {
+        this(manager, BATCH_SIZE);
+    }
+
+    public StudentRepository(EntityManager manager, int batchSize) {
         this.manager = manager;
+        this.batchSize = batchSize;
     }
 
     public Student save(Student student) {
@@ -20,12 +42,115 @@ public class StudentRepository {
         return student;
     }
 
+    /**
+     * persists the students in JDBC batches, the persistence context is flushed and cleared after every batch
+     * so it stays bounded however many students there are. saved students, and anything else managed by the
+     * entity manager, are detached. runs in the caller's transaction like {@link #save(Student)}
+     *
+     * @return the number of saved students
+     */
+    public long saveAll(Iterable<Student> students) {
+        long count = 0;
+        for (Student student : students) {
+            save(student);
+            if (++count % batchSize == 0) {
+                manager.flush();
+                manager.clear();
+            }
+        }
+        if (count % batchSize != 0) {
+            manager.flush();
+            manager.clear();
+        }
+        return count;
+    }
+
+    /**
+     * names and emails of every student in id order, read without loading or tracking entities
+     */
+    public List<StudentSummary> findSummaries() {
+        return manager.createNamedQuery(Student.FIND_SUMMARIES, StudentSummary.class).getResultList();
+    }
+
+    public Optional<StudentSummary> findSummaryByEmail(String email) {
+        return manager.createNamedQuery(Student.FIND_SUMMARY_BY_EMAIL, StudentSummary.class)
+            .setParameter("email", email).setMaxResults(1).getResultList().stream().findFirst();
+    }
+
+    /**
+     * every student in id order, read through a forward-only cursor fetching {@code fetchSize} rows at a time.
+     * a student is detached once the next one is read, so memory stays constant however many students there are.
+     * the stream holds the cursor open and must be closed
+     */
+    public Stream<Student> streamAll(int fetchSize) {
+        ScrollableResults results = manager.unwrap(Session.class)
+            .createNamedQuery(Student.FIND_ALL, Student.class)
+            .setFetchSize(fetchSize)
+            .setReadOnly(true)
+            .setCacheMode(CacheMode.IGNORE)
+            .scroll(ScrollMode.FORWARD_ONLY);
+        Spliterator<Student> students = new Spliterators.AbstractSpliterator<Student>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Student previous;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Student> action) {
+                if (previous != null) {
+                    manager.detach(previous);
+                    previous = null;
+                }
+                if (!results.next()) {
+                    return false;
+                }
+                previous = (Student) results.get(0);
+                action.accept(previous);
+                return true;
+            }
+        };
+        return StreamSupport.stream(students, false).onClose(results::close);
+    }
+
+    /**
+     * the first page of students in id order
+     */
+    public StudentPage findPage(int size) {
+        checkPageSize(size);
+        return findPageAfter(Long.MIN_VALUE, size);
+    }
+
+    /**
+     * the page continuing from the token of a previous page. pages seek on the primary key instead of
+     * skipping rows, so every page costs the same however deep it is
+     */
+    public StudentPage findPage(String token, int size) {
+        checkPageSize(size);
+        return findPageAfter(StudentPage.id(token), size);
+    }
+
+    private static void checkPageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("page size must be positive: " + size);
+        }
+    }
+
+    private StudentPage findPageAfter(long id, int size) {
+        List<Student> students = manager.createNamedQuery(Student.FIND_AFTER, Student.class)
+            .setParameter("id", id)
+            .setMaxResults(size + 1)
+            .getResultList();
+        if (students.size() <= size) {
+            return new StudentPage(students, null);
+        }
+        List<Student> page = students.subList(0, size);
+        return new StudentPage(page, StudentPage.token(page.get(size - 1).getId()));
+    }
+
     public Optional<Student> findById(long id) {
         return Optional.ofNullable(manager.find(Student.class, id));
     }
 
     public Optional<Student> findByEmail(String email) {
-        TypedQuery<Student> typedQuery = manager.createQuery("select s from Student s where s.email=:email", Student.class);
-        return typedQuery.setParameter("email", email).getResultList().stream().findFirst();
+        TypedQuery<Student> typedQuery = manager.createNamedQuery(Student.FIND_BY_EMAIL, Student.class);
+        // email is unique, the index lookup stops at the first row
+        return typedQuery.setParameter("email", email).setMaxResults(1).getResultList().stream().findFirst();
     }
 }
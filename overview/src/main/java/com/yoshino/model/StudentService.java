@@ -0,0 +1,75 @@
+package com.yoshino.model;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * thread-safe entry to the students, every unit of work gets its own entity manager and pooled connection,
+ * closed once the work is done. results must not depend on the entity manager staying open, e.g. an unconsumed stream
+ *
+ * @author xiaoyi
+ * 2022/5/1 14:36
+ * @since
+ **/
+public class StudentService {
+
+    private final EntityManagerFactory factory;
+    private final Function<EntityManager, StudentRepository> repositories;
+
+    public StudentService(EntityManagerFactory factory) {
+        this(factory, StudentRepository::new);
+    }
+
+    public StudentService(EntityManagerFactory factory, Function<EntityManager, StudentRepository> repositories) {
+        this.factory = factory;
+        this.repositories = repositories;
+    }
+
+    /**
+     * runs the work in a transaction, committed if the work completes and rolled back if it throws
+     */
+    public <R> R transaction(Function<StudentRepository, R> work) {
+        EntityManager manager = factory.createEntityManager();
+        EntityTransaction transaction = manager.getTransaction();
+        try {
+            transaction.begin();
+            R result = work.apply(repositories.apply(manager));
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            manager.close();
+        }
+    }
+
+    /**
+     * runs read-only work outside a transaction
+     */
+    public <R> R query(Function<StudentRepository, R> work) {
+        EntityManager manager = factory.createEntityManager();
+        try {
+            return work.apply(repositories.apply(manager));
+        } finally {
+            manager.close();
+        }
+    }
+
+    public Student save(Student student) {
+        return transaction(repository -> repository.save(student));
+    }
+
+    public Optional<Student> findById(long id) {
+        return query(repository -> repository.findById(id));
+    }
+
+    public Optional<Student> findByEmail(String email) {
+        return query(repository -> repository.findByEmail(email));
+    }
+}
@@ -0,0 +1,61 @@
+package com.yoshino.model;
+
+import java.util.Objects;
+
+/**
+ * read-only names and email of a student, selected by constructor expression so no entity is loaded or tracked
+ *
+ * @author xiaoyi
+ * 2022/4/30 15:22
+ * @since
+ **/
+public class StudentSummary {
+
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+
+    public StudentSummary(String firstName, String lastName, String email) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StudentSummary that = (StudentSummary) o;
+        return Objects.equals(firstName, that.firstName) && Objects.equals(lastName, that.lastName) && Objects.equals(email, that.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(firstName, lastName, email);
+    }
+
+    @Override
+    public String toString() {
+        return "StudentSummary {" +
+            "firstName=" + firstName + '\'' +
+            ", lastName=" + lastName + '\'' +
+            ", email=" + email + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,219 @@
+package com.yoshino.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * saves acknowledged once they are queued, a background writer drains the queue in batched transactions.
+ * a full queue blocks {@link #save(Student)} until the writer catches up. a student is pending until its batch
+ * is committed, and {@link #findByEmail(String)} checks the pending students first so a caller reads its own writes.
+ * queueing and closing are done under one lock, so a save either is queued before the service closes or is rejected.
+ * if the writer stops for any reason the service closes, and every student it has not written fails
+ *
+ * @author xiaoyi
+ * 2022/5/3 14:02
+ * @since
+ **/
+public class WriteBehindStudentService implements AutoCloseable {
+
+    private final StudentService service;
+    private final int capacity;
+    private final int batchSize;
+    private final Map<String, Student> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Queue<Pending> queue = new ArrayDeque<>();
+    private boolean closed;
+
+    public WriteBehindStudentService(StudentService service, int capacity, int batchSize) {
+        this.service = service;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::write, "student-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * queues the student, blocking while the queue is full
+     *
+     * @return completed with the saved student once its batch is committed
+     * @throws IllegalStateException if the service is closed, also when it closes while waiting for room
+     */
+    public CompletableFuture<Student> save(Student student) {
+        Pending entry = new Pending(student);
+        lock.lock();
+        try {
+            while (!closed && queue.size() >= capacity) {
+                notFull.await();
+            }
+            if (closed) {
+                throw new IllegalStateException("write-behind service closed");
+            }
+            if (student.getEmail() != null) {
+                pending.put(student.getEmail(), student);
+            }
+            queue.add(entry);
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            lock.unlock();
+        }
+        return entry.saved;
+    }
+
+    public Optional<Student> findByEmail(String email) {
+        Student student = email == null ? null : pending.get(email);
+        return student != null ? Optional.of(student) : service.findByEmail(email);
+    }
+
+    /**
+     * pending students have no id yet, only saved students are found
+     */
+    public Optional<Student> findById(long id) {
+        return service.findById(id);
+    }
+
+    /**
+     * stops accepting saves and waits for the queued students to be written
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Throwable failure = null;
+        try {
+            while (take(batch)) {
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            stop(batch, failure);
+        }
+    }
+
+    /**
+     * waits for queued students and moves up to a batch of them, false once closed and drained
+     */
+    private boolean take(List<Pending> batch) throws InterruptedException {
+        lock.lock();
+        try {
+            while (queue.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            while (batch.size() < batchSize && !queue.isEmpty()) {
+                batch.add(queue.poll());
+            }
+            notFull.signalAll();
+            return !batch.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * closes the service when the writer exits, failing the students of the interrupted batch and those still queued
+     */
+    private void stop(List<Pending> batch, Throwable failure) {
+        List<Pending> unwritten = new ArrayList<>(batch);
+        lock.lock();
+        try {
+            closed = true;
+            unwritten.addAll(queue);
+            queue.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        IllegalStateException stopped = new IllegalStateException("write-behind writer stopped", failure);
+        for (Pending entry : unwritten) {
+            entry.failed(stopped);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Student> students = new ArrayList<>(batch.size());
+        for (Pending entry : batch) {
+            students.add(entry.student);
+        }
+        try {
+            service.transaction(repository -> repository.saveAll(students));
+            for (Pending entry : batch) {
+                entry.saved(entry.student);
+            }
+        } catch (RuntimeException e) {
+            // one bad student fails the whole transaction, retry one by one so only it is rejected.
+            // the rolled back students already got ids, so copies are saved instead
+            for (Pending entry : batch) {
+                Student student = entry.student;
+                try {
+                    entry.saved(service.save(new Student(student.getFirstName(), student.getLastName(), student.getEmail())));
+                } catch (RuntimeException failure) {
+                    entry.failed(failure);
+                }
+            }
+        }
+    }
+
+    private class Pending {
+        private final Student student;
+        private final CompletableFuture<Student> saved = new CompletableFuture<>();
+
+        Pending(Student student) {
+            this.student = student;
+        }
+
+        void saved(Student student) {
+            unindex();
+            saved.complete(student);
+        }
+
+        void failed(Throwable failure) {
+            unindex();
+            saved.completeExceptionally(failure);
+        }
+
+        /**
+         * students without an email are not indexed, they cannot be looked up before they are saved
+         */
+        private void unindex() {
+            if (student.getEmail() != null) {
+                pending.remove(student.getEmail(), student);
+            }
+        }
+    }
+}
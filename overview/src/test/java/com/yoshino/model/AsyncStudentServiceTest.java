@@ -0,0 +1,80 @@
+package com.yoshino.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class AsyncStudentServiceTest {
+
+    private StudentService service;
+    private AsyncStudentService async;
+    private Student john = new Student("john", "smith", "john.smith@email.com");
+
+    @BeforeEach
+    public void before() {
+        service = mock(StudentService.class);
+        async = new AsyncStudentService(service, 2, Executors.newCachedThreadPool());
+    }
+
+    @AfterEach
+    public void after() {
+        async.close();
+    }
+
+    @Test
+    public void should_complete_with_saved_student() throws Exception {
+        when(service.save(john)).thenReturn(john);
+
+        assertSame(john, async.save(john).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void should_complete_with_found_student() throws Exception {
+        when(service.findById(1)).thenReturn(Optional.of(john));
+        when(service.findByEmail(john.getEmail())).thenReturn(Optional.of(john));
+
+        assertSame(john, async.findById(1).get(1, TimeUnit.SECONDS).get());
+        assertSame(john, async.findByEmail(john.getEmail()).get(1, TimeUnit.SECONDS).get());
+    }
+
+    @Test
+    public void should_complete_exceptionally_if_work_failed() {
+        when(service.save(john)).thenThrow(new IllegalStateException());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> async.save(john).get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void should_bound_concurrent_units_of_work() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximum = new AtomicInteger();
+        when(service.findById(anyLong())).thenAnswer(invocation -> {
+            maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            return Optional.empty();
+        });
+
+        List<CompletableFuture<Optional<Student>>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(async.findById(i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, maximum.get());
+    }
+}
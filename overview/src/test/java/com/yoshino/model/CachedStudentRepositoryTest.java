@@ -0,0 +1,76 @@
+package com.yoshino.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+public class CachedStudentRepositoryTest {
+
+    private EntityManager manager;
+    private StudentCache cache;
+    private StudentRepository repository;
+    private Student john = new Student("john", "smith", "john.smith@email.com");
+
+    @BeforeEach
+    public void before() {
+        manager = mock(EntityManager.class);
+        cache = new StudentCache(100, 1, TimeUnit.MINUTES);
+        repository = new CachedStudentRepository(manager, cache);
+    }
+
+    @Test
+    public void should_load_student_by_id_once() {
+        when(manager.find(Student.class, 0L)).thenReturn(john);
+
+        assertEquals(john.getEmail(), repository.findById(0).get().getEmail());
+        assertEquals(john.getEmail(), repository.findById(0).get().getEmail());
+
+        verify(manager, times(1)).find(Student.class, 0L);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void should_load_student_by_email_once() {
+        TypedQuery query = mock(TypedQuery.class);
+        when(manager.createNamedQuery(anyString(), any())).thenReturn(query);
+        when(query.setParameter(any(String.class), any())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(asList(john));
+
+        assertEquals(john.getEmail(), repository.findByEmail(john.getEmail()).get().getEmail());
+        assertEquals(john.getEmail(), repository.findByEmail(john.getEmail()).get().getEmail());
+        assertEquals(john.getEmail(), repository.findById(john.getId()).get().getEmail());
+
+        verify(query, times(1)).getResultList();
+        verify(manager, never()).find(any(), any());
+    }
+
+    @Test
+    public void should_not_cache_missing_student() {
+        assertFalse(repository.findById(1).isPresent());
+        assertFalse(repository.findById(1).isPresent());
+
+        verify(manager, times(2)).find(Student.class, 1L);
+    }
+
+    @Test
+    public void should_invalidate_cached_student_on_save() {
+        when(manager.find(Student.class, 0L)).thenReturn(john);
+        repository.findById(0);
+
+        repository.save(john);
+        repository.findById(0);
+
+        verify(manager).persist(john);
+        verify(manager, times(2)).find(Student.class, 0L);
+    }
+}
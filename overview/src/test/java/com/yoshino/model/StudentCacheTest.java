@@ -0,0 +1,118 @@
+package com.yoshino.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final StudentCache cache = new StudentCache(2, 100, clock::get);
+
+    private final Student john = new Student("john", "smith", "john.smith@email.com");
+    private final Student jane = new Student("jane", "smith", "jane.smith@email.com");
+    private final Student jim = new Student("jim", "smith", "jim.smith@email.com");
+
+    @Test
+    public void should_get_cached_student_by_id_and_email() {
+        cache.put(1, john);
+
+        assertEquals(john.getEmail(), cache.getById(1).get().getEmail());
+        assertEquals(john.getEmail(), cache.getByEmail(john.getEmail()).get().getEmail());
+        assertEquals(2, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void should_count_miss_if_student_not_cached() {
+        assertFalse(cache.getById(1).isPresent());
+        assertFalse(cache.getByEmail(john.getEmail()).isPresent());
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void should_expire_student_after_ttl() {
+        cache.put(1, john);
+
+        clock.set(99);
+        assertTrue(cache.getById(1).isPresent());
+        clock.set(100);
+        assertFalse(cache.getById(1).isPresent());
+        assertFalse(cache.getByEmail(john.getEmail()).isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void should_evict_oldest_student_when_full() {
+        cache.put(1, john);
+        cache.put(2, jane);
+        cache.put(3, jim);
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.getById(1).isPresent());
+        assertFalse(cache.getByEmail(john.getEmail()).isPresent());
+        assertTrue(cache.getById(3).isPresent());
+    }
+
+    @Test
+    public void should_cache_detached_copy_of_student() {
+        cache.put(0, john);
+
+        Student cached = cache.getById(0).get();
+
+        assertNotSame(john, cached);
+        assertEquals(john.getId(), cached.getId());
+        assertEquals(john.getFirstName(), cached.getFirstName());
+        assertEquals(john.getLastName(), cached.getLastName());
+    }
+
+    @Test
+    public void should_evict_oldest_live_student_after_expiry() {
+        cache.put(1, john);
+        clock.set(100);
+        assertFalse(cache.getById(1).isPresent());
+
+        cache.put(2, jane);
+        cache.put(1, john);
+        cache.put(3, jim);
+
+        assertFalse(cache.getById(2).isPresent());
+        assertTrue(cache.getById(1).isPresent());
+        assertTrue(cache.getById(3).isPresent());
+    }
+
+    @Test
+    public void should_keep_insertion_order_when_student_cached_again() {
+        cache.put(1, john);
+        cache.put(2, jane);
+        cache.put(1, john);
+        cache.put(3, jim);
+
+        assertFalse(cache.getById(1).isPresent());
+        assertTrue(cache.getById(2).isPresent());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void should_drop_previous_email_when_student_cached_again() {
+        cache.put(1, john);
+        cache.put(1, jane);
+
+        assertFalse(cache.getByEmail(john.getEmail()).isPresent());
+        assertEquals(jane.getEmail(), cache.getByEmail(jane.getEmail()).get().getEmail());
+    }
+
+    @Test
+    public void should_remove_invalidated_student() {
+        cache.put(0, john);
+
+        cache.invalidate(john);
+
+        assertFalse(cache.getById(0).isPresent());
+        assertFalse(cache.getByEmail(john.getEmail()).isPresent());
+    }
+}
@@ -0,0 +1,72 @@
+package com.yoshino.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * latency of {@link StudentRepository#findByEmail(String)} as the students table grows, flat with the unique email index.
+ * the table is cached on disk, so 10M students do not need to fit in the heap, but filling it takes a while
+ *
+ * @author xiaoyi
+ * 2022/4/26 20:42
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentEmailIndexBenchmark {
+
+    private static final int COMMIT_SIZE = 100_000;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    EntityManagerFactory factory;
+    EntityManager manager;
+    StudentRepository repository;
+
+    @Setup
+    public void setUp() {
+        factory = Persistence.createEntityManagerFactory("student", Collections.singletonMap("javax.persistence.jdbc.url",
+            "jdbc:hsqldb:file:target/scalingDB;hsqldb.default_table_type=cached;shutdown=true"));
+        manager = factory.createEntityManager();
+        repository = new StudentRepository(manager);
+        for (int i = 0; i < size; i += COMMIT_SIZE) {
+            int from = i;
+            manager.getTransaction().begin();
+            repository.saveAll(() -> IntStream.range(from, Math.min(size, from + COMMIT_SIZE))
+                .mapToObj(it -> new Student("john" + it, "smith", "john" + it + ".smith@email.com")).iterator());
+            manager.getTransaction().commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+        factory.close();
+    }
+
+    @Benchmark
+    public Optional<Student> findByEmail() {
+        manager.clear();
+        return repository.findByEmail("john" + ThreadLocalRandom.current().nextInt(size) + ".smith@email.com");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StudentEmailIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
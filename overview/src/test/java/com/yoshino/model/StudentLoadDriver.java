@@ -0,0 +1,65 @@
+package com.yoshino.model;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * throughput of concurrent save and findById through {@link StudentService}, from 1 to 64 threads sharing the connection pool.
+ * every thread saves a student and loads it back, the score is units of work per second
+ *
+ * @author xiaoyi
+ * 2022/5/1 16:05
+ * @since
+ **/
+public class StudentLoadDriver {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        EntityManagerFactory factory = Persistence.createEntityManagerFactory("student");
+        StudentService service = new StudentService(factory);
+        AtomicLong sequence = new AtomicLong();
+        try {
+            for (int threads : THREADS) {
+                run(service, sequence, threads, WARMUP_MILLIS);
+                long operations = run(service, sequence, threads, MEASURE_MILLIS);
+                System.out.printf("%2d threads: %10.1f ops/s%n", threads, operations * 1000.0 / MEASURE_MILLIS);
+            }
+        } finally {
+            factory.close();
+        }
+    }
+
+    private static long run(StudentService service, AtomicLong sequence, int threads, long millis) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                long operations = 0;
+                while (System.nanoTime() - deadline < 0) {
+                    long id = sequence.incrementAndGet();
+                    Student saved = service.save(new Student("john" + id, "smith", "john" + id + ".smith@email.com"));
+                    service.findById(saved.getId());
+                    operations++;
+                }
+                return operations;
+            }));
+        }
+        long operations = 0;
+        for (Future<Long> future : futures) {
+            operations += future.get();
+        }
+        executor.shutdown();
+        return operations;
+    }
+}
@@ -0,0 +1,92 @@
+package com.yoshino.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * lookups of random students through {@link CachedStudentRepository} compared with the HSQLDB-backed {@link StudentRepository}
+ *
+ * @author xiaoyi
+ * 2022/4/24 16:30
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentLookupBenchmark {
+
+    @Param({"1000"})
+    int size;
+
+    EntityManagerFactory factory;
+    EntityManager manager;
+    StudentRepository repository;
+    StudentRepository cached;
+    List<Student> students;
+
+    @Setup
+    public void setUp() {
+        factory = Persistence.createEntityManagerFactory("student");
+        manager = factory.createEntityManager();
+        repository = new StudentRepository(manager);
+        cached = new CachedStudentRepository(manager, new StudentCache(size, 10, TimeUnit.MINUTES));
+
+        students = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            students.add(new Student("john" + i, "smith", "john" + i + ".smith@email.com"));
+        }
+        manager.getTransaction().begin();
+        repository.saveAll(students);
+        manager.getTransaction().commit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+        factory.close();
+    }
+
+    private Student next() {
+        return students.get(ThreadLocalRandom.current().nextInt(students.size()));
+    }
+
+    @Benchmark
+    public Object findById() {
+        // cleared so every lookup reaches the database instead of the persistence context
+        manager.clear();
+        return repository.findById(next().getId());
+    }
+
+    @Benchmark
+    public Object findByEmail() {
+        manager.clear();
+        return repository.findByEmail(next().getEmail());
+    }
+
+    @Benchmark
+    public Object cachedFindById() {
+        return cached.findById(next().getId());
+    }
+
+    @Benchmark
+    public Object cachedFindByEmail() {
+        return cached.findByEmail(next().getEmail());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StudentLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
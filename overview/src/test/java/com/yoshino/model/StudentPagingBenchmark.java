@@ -0,0 +1,85 @@
+package com.yoshino.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * a page of students at increasing depth, read by keyset with {@link StudentRepository#findPage(String, int)}
+ * compared with OFFSET/LIMIT
+ *
+ * @author xiaoyi
+ * 2022/4/28 22:14
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentPagingBenchmark {
+
+    private static final int STUDENTS = 200_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"0", "10000", "100000", "190000"})
+    int depth;
+
+    EntityManagerFactory factory;
+    EntityManager manager;
+    StudentRepository repository;
+    String token;
+
+    @Setup
+    public void setUp() {
+        factory = Persistence.createEntityManagerFactory("student");
+        manager = factory.createEntityManager();
+        repository = new StudentRepository(manager);
+        manager.getTransaction().begin();
+        repository.saveAll(() -> IntStream.range(0, STUDENTS)
+            .mapToObj(it -> new Student("john" + it, "smith", "john" + it + ".smith@email.com")).iterator());
+        manager.getTransaction().commit();
+
+        long previous = depth == 0 ? Long.MIN_VALUE : offset(depth - 1, 1).get(0).getId();
+        token = StudentPage.token(previous);
+        manager.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+        factory.close();
+    }
+
+    private List<Student> offset(int first, int size) {
+        return manager.createNamedQuery(Student.FIND_ALL, Student.class)
+            .setFirstResult(first)
+            .setMaxResults(size)
+            .getResultList();
+    }
+
+    @Benchmark
+    public List<Student> keyset() {
+        manager.clear();
+        return repository.findPage(token, PAGE_SIZE).getStudents();
+    }
+
+    @Benchmark
+    public List<Student> offset() {
+        manager.clear();
+        return offset(depth, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StudentPagingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.yoshino.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * per-call latency of the email lookup as a JPQL string created on every call compared with the named query
+ *
+ * @author xiaoyi
+ * 2022/4/25 21:10
+ * @since
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentQueryBenchmark {
+
+    EntityManagerFactory factory;
+    EntityManager manager;
+    String email = "john.smith@email.com";
+
+    @Setup
+    public void setUp() {
+        factory = Persistence.createEntityManagerFactory("student");
+        manager = factory.createEntityManager();
+        manager.getTransaction().begin();
+        new StudentRepository(manager).save(new Student("john", "smith", email));
+        manager.getTransaction().commit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+        factory.close();
+    }
+
+    @Benchmark
+    public List<Student> adHocQuery() {
+        return manager.createQuery("select s from Student s where s.email=:email", Student.class)
+            .setParameter("email", email).getResultList();
+    }
+
+    @Benchmark
+    public List<Student> namedQuery() {
+        return manager.createNamedQuery(Student.FIND_BY_EMAIL, Student.class)
+            .setParameter("email", email).getResultList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StudentQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -2,6 +2,7 @@ package com.yoshino.model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -29,6 +30,24 @@ public class StudentRepositoryMockTest {
         verify(manager).persist(john);
     }
 
+    @Test
+    public void should_flush_and_clear_after_every_batch() {
+        Student jane = new Student("jane", "smith", "jane.smith@email.com");
+        Student jim = new Student("jim", "smith", "jim.smith@email.com");
+        repository = new StudentRepository(manager, 2);
+
+        assertEquals(3, repository.saveAll(asList(john, jane, jim)));
+
+        InOrder order = inOrder(manager);
+        order.verify(manager).persist(john);
+        order.verify(manager).persist(jane);
+        order.verify(manager).flush();
+        order.verify(manager).clear();
+        order.verify(manager).persist(jim);
+        order.verify(manager).flush();
+        order.verify(manager).clear();
+    }
+
     @Test
     public void should_be_able_to_load_saved_by_id() {
         when(manager.find(any(), any())).thenReturn(john);
@@ -40,13 +59,15 @@ public class StudentRepositoryMockTest {
     public void should_be_able_to_load_saved_by_email() {
         TypedQuery query = mock(TypedQuery.class);
 
-        when(manager.createQuery(anyString(), any())).thenReturn(query);
+        when(manager.createNamedQuery(anyString(), any())).thenReturn(query);
         when(query.setParameter(any(String.class), any())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
         when(query.getResultList()).thenReturn(asList(john));
 
         assertEquals(john, repository.findByEmail(john.getEmail()).get());
 
-        verify(manager).createQuery("select s from Student s where s.email=:email", Student.class);
+        verify(manager).createNamedQuery(Student.FIND_BY_EMAIL, Student.class);
         verify(query).setParameter("email", john.getEmail());
+        verify(query).setMaxResults(1);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.yoshino.model;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,11 +8,16 @@ import org.junit.jupiter.api.Test;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class StudentRepositoryTest {
@@ -55,6 +61,125 @@ public class StudentRepositoryTest {
         assertEquals(saved.getEmail(), john[3]);
     }
 
+    @Test
+    public void should_save_all_students_in_batches() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            students.add(new Student("john" + i, "smith", "john" + i + ".smith@email.com"));
+        }
+
+        manager.getTransaction().begin();
+        assertEquals(120, studentRepository.saveAll(students));
+        manager.getTransaction().commit();
+
+        assertEquals(121, manager.createQuery("select count(s) from Student s", Long.class).getSingleResult());
+        assertEquals(120, students.stream().mapToLong(Student::getId).distinct().filter(id -> id != saved.getId()).count());
+        assertFalse(manager.contains(students.get(0)));
+    }
+
+    @Test
+    public void should_not_save_students_with_same_email() {
+        manager.getTransaction().begin();
+        studentRepository.save(new Student("johnny", "smith", saved.getEmail()));
+
+        assertThrows(PersistenceException.class, () -> manager.getTransaction().commit());
+    }
+
+    @Test
+    public void should_stream_all_students_in_id_order() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            students.add(new Student("john" + i, "smith", "john" + i + ".smith@email.com"));
+        }
+        manager.getTransaction().begin();
+        studentRepository.saveAll(students);
+        manager.getTransaction().commit();
+
+        List<Student> streamed;
+        try (Stream<Student> stream = studentRepository.streamAll(10)) {
+            streamed = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(31, streamed.size());
+        assertEquals(saved.getId(), streamed.get(0).getId());
+        for (int i = 0; i < students.size(); i++) {
+            assertEquals(students.get(i).getId(), streamed.get(i + 1).getId());
+            assertEquals(students.get(i).getEmail(), streamed.get(i + 1).getEmail());
+        }
+        assertTrue(streamed.stream().noneMatch(manager::contains));
+    }
+
+    @Test
+    public void should_page_through_students_by_id() {
+        List<Student> students = new ArrayList<>();
+        students.add(saved);
+        for (int i = 0; i < 20; i++) {
+            students.add(new Student("john" + i, "smith", "john" + i + ".smith@email.com"));
+        }
+        manager.getTransaction().begin();
+        studentRepository.saveAll(students.subList(1, students.size()));
+        manager.getTransaction().commit();
+
+        List<Long> ids = new ArrayList<>();
+        StudentPage page = studentRepository.findPage(8);
+        List<Integer> sizes = new ArrayList<>();
+        while (true) {
+            sizes.add(page.getStudents().size());
+            page.getStudents().forEach(it -> ids.add(it.getId()));
+            if (!page.getNext().isPresent()) {
+                break;
+            }
+            page = studentRepository.findPage(page.getNext().get(), 8);
+        }
+
+        assertEquals(asList(8, 8, 5), sizes);
+        assertEquals(students.stream().map(Student::getId).collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    public void should_end_with_page_without_next_token_if_size_divides_students() {
+        StudentPage page = studentRepository.findPage(1);
+
+        assertEquals(1, page.getStudents().size());
+        assertFalse(page.getNext().isPresent());
+    }
+
+    @Test
+    public void should_reject_illegal_page_token() {
+        assertThrows(IllegalArgumentException.class, () -> studentRepository.findPage("not a token", 10));
+    }
+
+    @Test
+    public void should_reject_page_size_not_positive() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> studentRepository.findPage(0));
+
+        assertEquals("page size must be positive: 0", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> studentRepository.findPage(StudentPage.token(1), -1));
+    }
+
+    @Test
+    public void should_read_summaries_without_managing_students() {
+        manager.getTransaction().begin();
+        studentRepository.save(new Student("jane", "smith", "jane.smith@email.com"));
+        manager.getTransaction().commit();
+        manager.clear();
+
+        List<StudentSummary> summaries = studentRepository.findSummaries();
+
+        assertEquals(asList(new StudentSummary("john", "smith", "john.smith@email.com"),
+            new StudentSummary("jane", "smith", "jane.smith@email.com")), summaries);
+        assertEquals(0, manager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    public void should_read_summary_by_email() {
+        manager.clear();
+
+        assertEquals(new StudentSummary("john", "smith", "john.smith@email.com"), studentRepository.findSummaryByEmail(saved.getEmail()).get());
+        assertFalse(studentRepository.findSummaryByEmail("jane.smith@email.com").isPresent());
+        assertEquals(0, manager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
     @Test
     public void should_generate_id_for_save_entity() {
         assertNotEquals(0, saved.getId());
@@ -0,0 +1,70 @@
+package com.yoshino.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentServiceTest {
+
+    private EntityManagerFactory factory;
+    private StudentService service;
+
+    @BeforeEach
+    public void before() {
+        factory = Persistence.createEntityManagerFactory("student");
+        service = new StudentService(factory);
+    }
+
+    @AfterEach
+    public void after() {
+        factory.close();
+    }
+
+    @Test
+    public void should_find_student_saved_in_another_unit_of_work() {
+        Student saved = service.save(new Student("john", "smith", "john.smith@email.com"));
+
+        Student loaded = service.findById(saved.getId()).get();
+
+        assertNotSame(saved, loaded);
+        assertEquals(saved.getEmail(), loaded.getEmail());
+        assertEquals(saved.getId(), service.findByEmail(saved.getEmail()).get().getId());
+    }
+
+    @Test
+    public void should_roll_back_if_work_failed() {
+        assertThrows(IllegalStateException.class, () -> service.transaction(repository -> {
+            repository.save(new Student("john", "smith", "john.smith@email.com"));
+            throw new IllegalStateException();
+        }));
+
+        assertFalse(service.findByEmail("john.smith@email.com").isPresent());
+    }
+
+    @Test
+    public void should_save_and_find_students_concurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Student>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                Student student = new Student("john" + i, "smith", "john" + i + ".smith@email.com");
+                futures.add(executor.submit(() -> service.findById(service.save(student).getId()).get()));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("john" + i + ".smith@email.com", futures.get(i).get().getEmail());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
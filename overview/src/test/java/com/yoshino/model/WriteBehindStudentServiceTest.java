@@ -0,0 +1,211 @@
+package com.yoshino.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindStudentServiceTest {
+
+    private EntityManagerFactory factory;
+    private StudentService service;
+    private WriteBehindStudentService writeBehind;
+
+    @BeforeEach
+    public void before() {
+        factory = Persistence.createEntityManagerFactory("student");
+        service = new StudentService(factory);
+        writeBehind = new WriteBehindStudentService(service, 100, 10);
+    }
+
+    @AfterEach
+    public void after() {
+        writeBehind.close();
+        factory.close();
+    }
+
+    @Test
+    public void should_write_queued_students_in_batches() throws Exception {
+        List<CompletableFuture<Student>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(writeBehind.save(new Student("john" + i, "smith", "john" + i + ".smith@email.com")));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            Student saved = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertNotEquals(0, saved.getId());
+            assertEquals("john" + i + ".smith@email.com", service.findById(saved.getId()).get().getEmail());
+        }
+    }
+
+    @Test
+    public void should_read_pending_student_by_email() {
+        Student john = new Student("john", "smith", "john.smith@email.com");
+
+        writeBehind.save(john);
+
+        assertEquals(john.getEmail(), writeBehind.findByEmail(john.getEmail()).get().getEmail());
+    }
+
+    @Test
+    public void should_save_student_without_email() throws Exception {
+        CompletableFuture<Student> saved = writeBehind.save(new Student("john", "smith", null));
+
+        assertFalse(writeBehind.findByEmail(null).isPresent());
+        Student john = saved.get(5, TimeUnit.SECONDS);
+        assertEquals("john", service.findById(john.getId()).get().getFirstName());
+        assertFalse(writeBehind.findByEmail(null).isPresent());
+    }
+
+    @Test
+    public void should_only_reject_invalid_student_of_batch() throws Exception {
+        service.save(new Student("john", "smith", "john.smith@email.com"));
+
+        CompletableFuture<Student> duplicated = writeBehind.save(new Student("johnny", "smith", "john.smith@email.com"));
+        CompletableFuture<Student> jane = writeBehind.save(new Student("jane", "smith", "jane.smith@email.com"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> duplicated.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof PersistenceException);
+        assertTrue(service.findById(jane.get(5, TimeUnit.SECONDS).getId()).isPresent());
+        assertEquals("john", writeBehind.findByEmail("john.smith@email.com").get().getFirstName());
+    }
+
+    @Test
+    public void should_write_queued_students_before_closing() throws Exception {
+        CompletableFuture<Student> john = writeBehind.save(new Student("john", "smith", "john.smith@email.com"));
+
+        writeBehind.close();
+
+        assertTrue(john.isDone());
+        assertTrue(service.findById(john.get().getId()).isPresent());
+        assertThrows(IllegalStateException.class, () -> writeBehind.save(new Student("jane", "smith", "jane.smith@email.com")));
+    }
+
+    @Test
+    public void should_block_save_while_queue_full() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StudentService blocked = mock(StudentService.class);
+        when(blocked.transaction(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return 1L;
+        });
+        WriteBehindStudentService full = new WriteBehindStudentService(blocked, 1, 10);
+
+        full.save(new Student("john", "smith", "john.smith@email.com"));
+        writing.await(5, TimeUnit.SECONDS);
+        full.save(new Student("jane", "smith", "jane.smith@email.com"));
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> full.save(new Student("jim", "smith", "jim.smith@email.com")));
+
+        Thread.sleep(200);
+        assertFalse(third.isDone());
+        release.countDown();
+        third.get(5, TimeUnit.SECONDS);
+        full.close();
+    }
+
+    @Test
+    public void should_complete_every_accepted_save_when_closed_while_saving() throws Exception {
+        List<CompletableFuture<Student>> accepted = new ArrayList<>();
+        AtomicBoolean rejected = new AtomicBoolean();
+        List<Thread> savers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int saver = t;
+            savers.add(new Thread(() -> {
+                for (int i = 0; ; i++) {
+                    try {
+                        CompletableFuture<Student> saved = writeBehind.save(new Student("john", "smith", "john" + saver + "." + i + "@email.com"));
+                        synchronized (accepted) {
+                            accepted.add(saved);
+                        }
+                    } catch (IllegalStateException e) {
+                        rejected.set(true);
+                        return;
+                    }
+                }
+            }));
+        }
+        savers.forEach(Thread::start);
+        Thread.sleep(100);
+
+        writeBehind.close();
+        for (Thread saver : savers) {
+            saver.join(5000);
+        }
+
+        assertTrue(rejected.get());
+        synchronized (accepted) {
+            assertFalse(accepted.isEmpty());
+            for (CompletableFuture<Student> saved : accepted) {
+                assertTrue(saved.isDone());
+                assertTrue(service.findById(saved.get().getId()).isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void should_reject_save_waiting_for_room_when_closed() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StudentService blocked = mock(StudentService.class);
+        when(blocked.transaction(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return 1L;
+        });
+        WriteBehindStudentService full = new WriteBehindStudentService(blocked, 1, 10);
+        full.save(new Student("john", "smith", "john.smith@email.com"));
+        writing.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Student> jane = full.save(new Student("jane", "smith", "jane.smith@email.com"));
+        CompletableFuture<Void> jim = CompletableFuture.runAsync(() -> full.save(new Student("jim", "smith", "jim.smith@email.com")));
+        Thread.sleep(200);
+
+        CompletableFuture<Void> closing = CompletableFuture.runAsync(full::close);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> jim.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        release.countDown();
+        closing.get(5, TimeUnit.SECONDS);
+        assertTrue(jane.isDone());
+    }
+
+    @Test
+    public void should_fail_unwritten_students_and_reject_saves_if_writer_dies() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StudentService broken = mock(StudentService.class);
+        when(broken.transaction(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            throw new StackOverflowError();
+        });
+        WriteBehindStudentService dying = new WriteBehindStudentService(broken, 10, 1);
+        CompletableFuture<Student> john = dying.save(new Student("john", "smith", "john.smith@email.com"));
+        writing.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Student> jane = dying.save(new Student("jane", "smith", "jane.smith@email.com"));
+
+        release.countDown();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> john.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getCause() instanceof StackOverflowError);
+        assertThrows(ExecutionException.class, () -> jane.get(5, TimeUnit.SECONDS));
+        assertFalse(dying.findByEmail("jane.smith@email.com").isPresent());
+        assertThrows(IllegalStateException.class, () -> dying.save(new Student("jim", "smith", "jim.smith@email.com")));
+        dying.close();
+    }
+}